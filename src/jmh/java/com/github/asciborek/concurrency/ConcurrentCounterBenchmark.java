@@ -0,0 +1,80 @@
+package com.github.asciborek.concurrency;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentCounterBenchmark {
+
+  private final ConcurrentCounter counter = new ConcurrentCounter();
+  private final StripedCounter stripedCounter = new StripedCounter();
+
+  @Benchmark
+  @Threads(1)
+  public int incrementAndGet1Thread() {
+    return counter.incrementAndGet();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int incrementAndGet4Threads() {
+    return counter.incrementAndGet();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public int incrementAndGetMaxThreads() {
+    return counter.incrementAndGet();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public int getValue1Thread() {
+    return counter.getValue();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public int getValue4Threads() {
+    return counter.getValue();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public int getValueMaxThreads() {
+    return counter.getValue();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void stripedIncrement1Thread() {
+    stripedCounter.increment();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void stripedIncrement4Threads() {
+    stripedCounter.increment();
+  }
+
+  @Benchmark
+  @Threads(Threads.MAX)
+  public void stripedIncrementMaxThreads() {
+    stripedCounter.increment();
+  }
+
+}
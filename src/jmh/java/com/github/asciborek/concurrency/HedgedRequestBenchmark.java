@@ -0,0 +1,63 @@
+package com.github.asciborek.concurrency;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tail latency of a backend where every 10th call hangs, with and without a hedged second attempt. Compare the
+ * p0.99 rows of the sample-time output.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class HedgedRequestBenchmark {
+
+  private static final long FAST_MILLIS = 5;
+  private static final long SLOW_MILLIS = 400;
+  private static final Duration HEDGE_DELAY = Duration.ofMillis(30);
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Benchmark
+  public String unhedged() {
+    return CompletableFuture.supplyAsync(HedgedRequestBenchmark::call, executor).join();
+  }
+
+  @Benchmark
+  public String hedged() {
+    return AsyncCombinators.hedged(HedgedRequestBenchmark::call, HEDGE_DELAY, 2, executor).join();
+  }
+
+  private static String call() {
+    boolean slow = ThreadLocalRandom.current().nextInt(10) == 0;
+    try {
+      Thread.sleep(slow ? SLOW_MILLIS : FAST_MILLIS);
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+    return slow ? "slow" : "fast";
+  }
+
+}
@@ -0,0 +1,59 @@
+package com.github.asciborek.generics;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OptionBenchmark {
+
+  private int value = 42;
+  private String text = "java-exercises";
+
+  @Benchmark
+  public int mapFilterChainOnBoxedInt() {
+    return Option.ofValue(value)
+        .map(number -> number * 3)
+        .filter(number -> number % 2 == 0)
+        .map(number -> number + 1)
+        .orElse(-1);
+  }
+
+  @Benchmark
+  public int mapFilterChainOnOptionInt() {
+    return OptionInt.ofValue(value)
+        .map(number -> number * 3)
+        .filter(number -> number % 2 == 0)
+        .map(number -> number + 1)
+        .orElse(-1);
+  }
+
+  @Benchmark
+  public int mapFilterChainOnString() {
+    return Option.ofNullable(text)
+        .filter(string -> !string.isBlank())
+        .map(String::length)
+        .orElse(0);
+  }
+
+  @Benchmark
+  public int mapFilterChainOnEmpty() {
+    return Option.<String>empty()
+        .filter(string -> !string.isBlank())
+        .map(String::length)
+        .orElse(0);
+  }
+
+}
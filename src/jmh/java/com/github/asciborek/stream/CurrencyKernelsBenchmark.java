@@ -0,0 +1,76 @@
+package com.github.asciborek.stream;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The {@code Collectors.toMap}-based {@link MoneyUtil} aggregations against the scalar and SIMD column kernels
+ * on the same data.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class CurrencyKernelsBenchmark {
+
+  @Param({"1000", "100000", "10000000"})
+  private int size;
+
+  private List<Money> monies;
+  private long[] amounts;
+  private byte[] currencies;
+  private final CurrencyKernel scalar = new ScalarCurrencyKernel();
+  private final CurrencyKernel vector = new VectorCurrencyKernel();
+
+  @Setup
+  public void setUp() {
+    monies = MoneyUtilBenchmark.randomMonies(size);
+    amounts = new long[size];
+    currencies = new byte[size];
+    for (int i = 0; i < size; i++) {
+      CompactMoney money = CompactMoney.of(monies.get(i));
+      amounts[i] = money.minorUnits();
+      currencies[i] = (byte) money.currency().ordinal();
+    }
+  }
+
+  @Benchmark
+  public Map<Currency, BigDecimal> toMapSum() {
+    return MoneyUtil.sumAmountByCurrency(monies);
+  }
+
+  @Benchmark
+  public Map<Currency, BigDecimal> toMapMax() {
+    return MoneyUtil.getMaxByCurrency(monies);
+  }
+
+  @Benchmark
+  public MinorUnitTotals scalarKernel() {
+    MinorUnitTotals totals = new MinorUnitTotals();
+    scalar.accumulate(amounts, currencies, 0, size, totals);
+    return totals;
+  }
+
+  @Benchmark
+  public MinorUnitTotals vectorKernel() {
+    MinorUnitTotals totals = new MinorUnitTotals();
+    vector.accumulate(amounts, currencies, 0, size, totals);
+    return totals;
+  }
+
+}
@@ -0,0 +1,71 @@
+package com.github.asciborek.stream;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scaling of the fork/join aggregations with the pool's parallelism, against {@code parallelStream()} on the common
+ * pool. For 10^8 elements run with {@code -p size=100000000} and a larger heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms12g", "-Xmx12g"})
+public class ForkJoinMoneyUtilBenchmark {
+
+  @Param({"10000000"})
+  private int size;
+
+  @Param({"1", "2", "4", "8", "16"})
+  private int parallelism;
+
+  private List<Money> monies;
+  private List<CompactMoney> compactMonies;
+  private ForkJoinPool pool;
+
+  @Setup
+  public void setUp() {
+    monies = MoneyUtilBenchmark.randomMonies(size);
+    compactMonies = monies.stream().map(CompactMoney::of).toList();
+    pool = new ForkJoinPool(parallelism);
+  }
+
+  @TearDown
+  public void tearDown() {
+    pool.close();
+  }
+
+  @Benchmark
+  public Map<Currency, BigDecimal> parallelStreamToMap() {
+    return monies.parallelStream().collect(Collectors.toMap(Money::currency, Money::amount, BigDecimal::add));
+  }
+
+  @Benchmark
+  public Map<Currency, BigDecimal> forkJoinSum() {
+    return MoneyUtil.sumAmountByCurrency(monies, pool);
+  }
+
+  @Benchmark
+  public Map<Currency, CompactMoney> forkJoinCompactSum() {
+    return MoneyUtil.sumCompactAmountByCurrency(compactMonies, pool);
+  }
+
+}
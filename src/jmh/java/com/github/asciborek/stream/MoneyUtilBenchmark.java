@@ -0,0 +1,100 @@
+package com.github.asciborek.stream;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class MoneyUtilBenchmark {
+
+  @Param({"1000", "10000", "100000", "1000000", "10000000"})
+  private int size;
+
+  private List<Money> monies;
+  private List<CompactMoney> compactMonies;
+  private OffHeapMoneyStore offHeapStore;
+
+  @Setup
+  public void setUp() {
+    monies = randomMonies(size);
+    compactMonies = monies.stream().map(CompactMoney::of).toList();
+    offHeapStore = OffHeapMoneyStore.of(monies);
+  }
+
+  @TearDown
+  public void tearDown() {
+    offHeapStore.close();
+  }
+
+  @Benchmark
+  public Map<Currency, BigDecimal> sumAmountByCurrency() {
+    return MoneyUtil.sumAmountByCurrency(monies);
+  }
+
+  @Benchmark
+  public Map<Currency, BigDecimal> getMaxByCurrency() {
+    return MoneyUtil.getMaxByCurrency(monies);
+  }
+
+  @Benchmark
+  public Map<Currency, CurrencyStatistics> statisticsByCurrency() {
+    return MoneyUtil.statisticsByCurrency(monies);
+  }
+
+  @Benchmark
+  public Map<Currency, CurrencyStatistics> parallelStatisticsByCurrency() {
+    return monies.parallelStream().collect(MoneyUtil.statisticsByCurrency());
+  }
+
+  @Benchmark
+  public Map<Currency, CompactMoney> sumCompactAmountByCurrency() {
+    return MoneyUtil.sumCompactAmountByCurrency(compactMonies);
+  }
+
+  @Benchmark
+  public Map<Currency, CompactMoney> getCompactMaxByCurrency() {
+    return MoneyUtil.getCompactMaxByCurrency(compactMonies);
+  }
+
+  @Benchmark
+  public Map<Currency, CompactMoney> sumOffHeapAmountByCurrency() {
+    return offHeapStore.sumByCurrency();
+  }
+
+  @Benchmark
+  public Map<Currency, CompactMoney> getOffHeapMaxByCurrency() {
+    return offHeapStore.maxByCurrency();
+  }
+
+  static List<Money> randomMonies(int size) {
+    SplittableRandom random = new SplittableRandom(42);
+    Currency[] currencies = Currency.values();
+    List<Money> monies = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      BigDecimal amount = BigDecimal.valueOf(random.nextLong(1, 10_000_000), 2);
+      monies.add(new Money(amount, currencies[random.nextInt(currencies.length)]));
+    }
+    return monies;
+  }
+
+}
@@ -0,0 +1,64 @@
+package com.github.asciborek.stream;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class StreamUtilsBenchmark {
+
+  @Param({"1000", "100000", "10000000"})
+  private int size;
+
+  private List<BigDecimal> values;
+  private long[] minorUnits;
+
+  @Setup
+  public void setUp() {
+    minorUnits = new SplittableRandom(42).longs(size, 1, 10_000_000).toArray();
+    values = Arrays.stream(minorUnits)
+        .mapToObj(unscaled -> BigDecimal.valueOf(unscaled, 2))
+        .toList();
+  }
+
+  @Benchmark
+  public Optional<BigDecimal> averageSequential() {
+    return StreamUtils.average(values.stream());
+  }
+
+  @Benchmark
+  public Optional<BigDecimal> averageParallel() {
+    return StreamUtils.average(values.parallelStream());
+  }
+
+  @Benchmark
+  public OptionalDouble averageLongSequential() {
+    return StreamUtils.average(Arrays.stream(minorUnits));
+  }
+
+  @Benchmark
+  public OptionalDouble averageLongParallel() {
+    return StreamUtils.average(Arrays.stream(minorUnits).parallel());
+  }
+
+}
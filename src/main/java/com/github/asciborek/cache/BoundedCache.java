@@ -0,0 +1,231 @@
+package com.github.asciborek.cache;
+
+import com.github.asciborek.cache.Node.Queue;
+import com.github.asciborek.generics.Option;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Size-bounded concurrent cache with a W-TinyLFU eviction policy. Entries are held in a {@link ConcurrentHashMap},
+ * so lookups never lock. New entries enter a small LRU window (1% of the capacity). Entries that fall out of the
+ * window join a segmented LRU main space, split into probation and protected (80%). When the cache is full, the
+ * newest probation entry is admitted only if a {@link FrequencySketch} estimates it to be used more often than
+ * the probation entry that would be evicted instead. One-off scans therefore cannot flush frequently used entries.
+ *
+ * <p>Policy bookkeeping is guarded by a single lock. Readers do not take it: they record accesses in striped,
+ * lossy {@link ReadBuffer}s, which are replayed by whichever thread next acquires the lock. Writers take the lock.
+ *
+ * <p>Values are {@link Option}s: a loader returning {@link Option#empty()} creates a negative entry, which is
+ * cached, counted and evicted like any other, so repeated lookups of missing keys do not reach the loader.
+ */
+public final class BoundedCache<K, V> {
+
+  private static final double WINDOW_RATIO = 0.01;
+  private static final double PROTECTED_RATIO = 0.8;
+
+  private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+  private final ReentrantLock policyLock = new ReentrantLock();
+  private final ReadBuffer<K, V>[] readBuffers;
+  private final FrequencySketch sketch;
+  private final NodeDeque<K, V> window = new NodeDeque<>();
+  private final NodeDeque<K, V> probation = new NodeDeque<>();
+  private final NodeDeque<K, V> protectedQueue = new NodeDeque<>();
+  private final long maximumSize;
+  private final long maximumWindowSize;
+  private final long maximumProtectedSize;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  @SuppressWarnings("unchecked")
+  public BoundedCache(long maximumSize) {
+    if (maximumSize <= 0) {
+      throw new IllegalArgumentException("maximumSize must be positive");
+    }
+    this.maximumSize = maximumSize;
+    this.maximumWindowSize = Math.max(1, (long) (maximumSize * WINDOW_RATIO));
+    this.maximumProtectedSize = (long) ((maximumSize - maximumWindowSize) * PROTECTED_RATIO);
+    this.sketch = new FrequencySketch(maximumSize);
+    int stripes = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 4 - 1) << 1;
+    this.readBuffers = new ReadBuffer[stripes];
+    for (int i = 0; i < stripes; i++) {
+      readBuffers[i] = new ReadBuffer<>();
+    }
+  }
+
+  /**
+   * The cached value, or empty if the key is not cached or is cached as a negative entry.
+   */
+  public Option<V> get(K key) {
+    Node<K, V> node = data.get(key);
+    if (node == null) {
+      misses.increment();
+      return Option.empty();
+    }
+    hits.increment();
+    afterRead(node);
+    return node.value;
+  }
+
+  /**
+   * Returns the cached value, or calls the loader once per missing key (concurrent callers for the same key wait
+   * for it) and caches its result, including an empty one. If the loader throws, nothing is cached.
+   */
+  public Option<V> get(K key, Function<? super K, Option<V>> loader) {
+    Node<K, V> node = data.get(key);
+    if (node != null) {
+      hits.increment();
+      afterRead(node);
+      return node.value;
+    }
+    misses.increment();
+    node = data.computeIfAbsent(key, k -> new Node<>(k, Objects.requireNonNull(loader.apply(k), "loader returned null")));
+    afterWrite(node, null);
+    return node.value;
+  }
+
+  public void put(K key, V value) {
+    Node<K, V> node = new Node<>(key, Option.ofValue(value));
+    afterWrite(node, data.put(key, node));
+  }
+
+  public boolean containsKey(K key) {
+    return data.containsKey(key);
+  }
+
+  public void invalidate(K key) {
+    Node<K, V> node = data.remove(key);
+    if (node != null) {
+      policyLock.lock();
+      try {
+        unlink(node);
+      } finally {
+        policyLock.unlock();
+      }
+    }
+  }
+
+  public long size() {
+    return data.mappingCount();
+  }
+
+  public CacheStats stats() {
+    return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+  }
+
+  /**
+   * Replays buffered reads into the policy. Happens on its own as the cache is used; useful mostly for tests.
+   */
+  public void cleanUp() {
+    policyLock.lock();
+    try {
+      drainReadBuffers();
+    } finally {
+      policyLock.unlock();
+    }
+  }
+
+  private void afterRead(Node<K, V> node) {
+    int stripe = (int) (Thread.currentThread().threadId() * 0x9E3779B97F4A7C15L >>> 32) & (readBuffers.length - 1);
+    if (readBuffers[stripe].offer(node) && policyLock.tryLock()) {
+      try {
+        drainReadBuffers();
+      } finally {
+        policyLock.unlock();
+      }
+    }
+  }
+
+  private void afterWrite(Node<K, V> node, Node<K, V> replaced) {
+    policyLock.lock();
+    try {
+      drainReadBuffers();
+      if (replaced != null) {
+        unlink(replaced);
+      }
+      if (node.queue != null) {
+        onAccess(node);
+      } else if (!node.retired && data.get(node.key) == node) {
+        sketch.increment(node.key);
+        node.queue = Queue.WINDOW;
+        window.addLast(node);
+        evict();
+      }
+    } finally {
+      policyLock.unlock();
+    }
+  }
+
+  private void drainReadBuffers() {
+    for (ReadBuffer<K, V> buffer : readBuffers) {
+      buffer.drainTo(this::onAccess);
+    }
+  }
+
+  private void onAccess(Node<K, V> node) {
+    if (node.queue == null) {
+      return; // evicted or not linked yet
+    }
+    sketch.increment(node.key);
+    switch (node.queue) {
+      case WINDOW -> window.moveToLast(node);
+      case PROTECTED -> protectedQueue.moveToLast(node);
+      case PROBATION -> {
+        probation.remove(node);
+        node.queue = Queue.PROTECTED;
+        protectedQueue.addLast(node);
+        while (protectedQueue.size() > maximumProtectedSize) {
+          Node<K, V> demoted = protectedQueue.peekFirst();
+          protectedQueue.remove(demoted);
+          demoted.queue = Queue.PROBATION;
+          probation.addLast(demoted);
+        }
+      }
+    }
+  }
+
+  /**
+   * Moves window overflow to probation, then evicts until the cache fits: the most recent probation entry (the
+   * candidate) competes with the least recent one (the victim) and the less frequent of the two is evicted.
+   */
+  private void evict() {
+    while (window.size() > maximumWindowSize) {
+      Node<K, V> candidate = window.peekFirst();
+      window.remove(candidate);
+      candidate.queue = Queue.PROBATION;
+      probation.addLast(candidate);
+    }
+    while ((long) window.size() + probation.size() + protectedQueue.size() > maximumSize) {
+      Node<K, V> victim = probation.peekFirst();
+      Node<K, V> candidate = probation.peekLast();
+      if (victim == null) {
+        victim = protectedQueue.size() > 0 ? protectedQueue.peekFirst() : window.peekFirst();
+        candidate = victim;
+      }
+      evict(victim == candidate || sketch.frequency(candidate.key) > sketch.frequency(victim.key) ? victim : candidate);
+    }
+  }
+
+  private void evict(Node<K, V> node) {
+    unlink(node);
+    if (data.remove(node.key, node)) {
+      evictions.increment();
+    }
+  }
+
+  private void unlink(Node<K, V> node) {
+    if (node.queue != null) {
+      switch (node.queue) {
+        case WINDOW -> window.remove(node);
+        case PROBATION -> probation.remove(node);
+        case PROTECTED -> protectedQueue.remove(node);
+      }
+      node.queue = null;
+    }
+    node.retired = true;
+  }
+
+}
@@ -0,0 +1,20 @@
+package com.github.asciborek.cache;
+
+/**
+ * Counters of a {@link BoundedCache} at one point in time. A lookup of a negative (empty) entry counts as a hit.
+ */
+public record CacheStats(long hits, long misses, long evictions) {
+
+  public long requests() {
+    return hits + misses;
+  }
+
+  /**
+   * Share of lookups answered from the cache, {@code 1.0} if there were none.
+   */
+  public double hitRate() {
+    long requests = requests();
+    return requests == 0 ? 1.0 : (double) hits / requests;
+  }
+
+}
@@ -0,0 +1,75 @@
+package com.github.asciborek.cache;
+
+/**
+ * Approximate access frequency of keys in a count-min sketch of 4-bit counters (16 per cache entry), the admission filter of
+ * TinyLFU. Each key maps to four counters, one per hash function, and its frequency is the smallest of them, so it
+ * may be overestimated by collisions but never underestimated. Once {@code 10 * maximumSize} increments have been
+ * recorded all counters are halved, so that the history ages and formerly popular keys can be replaced. Not
+ * thread-safe: {@link BoundedCache} only uses it under its policy lock.
+ */
+final class FrequencySketch {
+
+  private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+  private static final long RESET_MASK = 0x7777777777777777L;
+  private static final int MAX_COUNT = 15;
+
+  private final long[] table;
+  private final int tableMask;
+  private final int sampleSize;
+  private int additions;
+
+  FrequencySketch(long maximumSize) {
+    this.table = new long[(int) Math.min(1 << 24, Long.highestOneBit(Math.max(2, maximumSize) - 1) << 1)];
+    this.tableMask = table.length - 1;
+    this.sampleSize = (int) Math.min(Integer.MAX_VALUE, 10 * Math.max(1, maximumSize));
+  }
+
+  int frequency(Object key) {
+    int hash = spread(key.hashCode());
+    int frequency = MAX_COUNT;
+    for (int i = 0; i < SEEDS.length; i++) {
+      long counter = counterIndex(hash, i);
+      frequency = Math.min(frequency, (int) ((table[(int) (counter >>> 4)] >>> ((counter & 15) << 2)) & MAX_COUNT));
+    }
+    return frequency;
+  }
+
+  void increment(Object key) {
+    int hash = spread(key.hashCode());
+    boolean added = false;
+    for (int i = 0; i < SEEDS.length; i++) {
+      long counter = counterIndex(hash, i);
+      int index = (int) (counter >>> 4);
+      int shift = (int) ((counter & 15) << 2);
+      if (((table[index] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+        table[index] += 1L << shift;
+        added = true;
+      }
+    }
+    if (added && ++additions >= sampleSize) {
+      reset();
+    }
+  }
+
+  private void reset() {
+    for (int i = 0; i < table.length; i++) {
+      table[i] = (table[i] >>> 1) & RESET_MASK;
+    }
+    additions /= 2;
+  }
+
+  /**
+   * Table slot in the high bits and nibble within the slot in the low four bits.
+   */
+  private long counterIndex(int hash, int i) {
+    long h = (hash + SEEDS[i]) * SEEDS[i];
+    h ^= h >>> 32;
+    return (((h >>> 4) & tableMask) << 4) | (h & 15);
+  }
+
+  private static int spread(int hash) {
+    int h = hash * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+}
@@ -0,0 +1,28 @@
+package com.github.asciborek.cache;
+
+import com.github.asciborek.generics.Option;
+
+/**
+ * A cache entry. The key and value are immutable and safe to read without locking; the links and the queue are
+ * owned by the policy and only touched under its lock.
+ */
+final class Node<K, V> {
+
+  enum Queue { WINDOW, PROBATION, PROTECTED }
+
+  final K key;
+  final Option<V> value;
+  Node<K, V> prev;
+  Node<K, V> next;
+  /**
+   * {@code null} until the node is linked into the policy and again once it is unlinked.
+   */
+  Queue queue;
+  boolean retired;
+
+  Node(K key, Option<V> value) {
+    this.key = key;
+    this.value = value;
+  }
+
+}
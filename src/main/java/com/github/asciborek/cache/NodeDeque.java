@@ -0,0 +1,59 @@
+package com.github.asciborek.cache;
+
+/**
+ * Intrusive doubly-linked LRU list of cache nodes, least recently used first. Not thread-safe.
+ */
+final class NodeDeque<K, V> {
+
+  private Node<K, V> first;
+  private Node<K, V> last;
+  private int size;
+
+  Node<K, V> peekFirst() {
+    return first;
+  }
+
+  Node<K, V> peekLast() {
+    return last;
+  }
+
+  int size() {
+    return size;
+  }
+
+  void addLast(Node<K, V> node) {
+    node.prev = last;
+    node.next = null;
+    if (last == null) {
+      first = node;
+    } else {
+      last.next = node;
+    }
+    last = node;
+    size++;
+  }
+
+  void remove(Node<K, V> node) {
+    if (node.prev == null) {
+      first = node.next;
+    } else {
+      node.prev.next = node.next;
+    }
+    if (node.next == null) {
+      last = node.prev;
+    } else {
+      node.next.prev = node.prev;
+    }
+    node.prev = null;
+    node.next = null;
+    size--;
+  }
+
+  void moveToLast(Node<K, V> node) {
+    if (node != last) {
+      remove(node);
+      addLast(node);
+    }
+  }
+
+}
@@ -0,0 +1,55 @@
+package com.github.asciborek.cache;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Lossy multi-producer, single-consumer ring of recently read nodes. Readers record an access with one CAS and
+ * never wait; when the ring is full the access is dropped, which only makes the policy slightly less precise.
+ */
+final class ReadBuffer<K, V> {
+
+  static final int SIZE = 16;
+  private static final int MASK = SIZE - 1;
+
+  private final AtomicReferenceArray<Node<K, V>> buffer = new AtomicReferenceArray<>(SIZE);
+  private final AtomicLong writes = new AtomicLong();
+  private volatile long reads;
+
+  /**
+   * @return whether the buffer is full enough to be worth draining
+   */
+  boolean offer(Node<K, V> node) {
+    long head = reads;
+    long tail = writes.get();
+    long size = tail - head;
+    if (size >= SIZE) {
+      return true;
+    }
+    if (writes.compareAndSet(tail, tail + 1)) {
+      buffer.setRelease((int) (tail & MASK), node);
+      return size + 1 >= SIZE / 2;
+    }
+    return false;
+  }
+
+  /**
+   * Must only be called by one thread at a time.
+   */
+  void drainTo(Consumer<Node<K, V>> consumer) {
+    long head = reads;
+    long tail = writes.get();
+    for (; head < tail; head++) {
+      int index = (int) (head & MASK);
+      Node<K, V> node = buffer.getAcquire(index);
+      if (node == null) {
+        break; // the writer has claimed the slot but not filled it yet
+      }
+      buffer.setRelease(index, null);
+      consumer.accept(node);
+    }
+    reads = head;
+  }
+
+}
@@ -0,0 +1,227 @@
+package com.github.asciborek.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Combinators missing from {@link CompletableFuture}: first successful result, hedged requests and bounded
+ * {@code allOf}. Blocking calls are expected to run on virtual threads; by default each call gets its own one.
+ */
+public final class AsyncCombinators {
+
+  private static final Executor VIRTUAL_THREADS = Executors.newVirtualThreadPerTaskExecutor();
+
+  private AsyncCombinators() {}
+
+  /**
+   * Unlike {@link CompletableFuture#anyOf}, a failure only counts if every future fails; the result then fails
+   * with the last failure, the others attached as suppressed. The remaining futures are cancelled once one
+   * succeeds.
+   */
+  public static <T> CompletableFuture<T> firstSuccessful(List<? extends CompletableFuture<? extends T>> futures) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    if (futures.isEmpty()) {
+      result.completeExceptionally(new IllegalArgumentException("futures cannot be empty"));
+      return result;
+    }
+    AtomicInteger pending = new AtomicInteger(futures.size());
+    List<Throwable> failures = new ArrayList<>();
+    for (CompletableFuture<? extends T> future : futures) {
+      future.whenComplete((value, failure) -> {
+        if (failure == null) {
+          result.complete(value);
+          return;
+        }
+        synchronized (failures) {
+          failures.add(unwrap(failure));
+        }
+        if (pending.decrementAndGet() == 0) {
+          result.completeExceptionally(combine(failures));
+        }
+      });
+    }
+    result.whenComplete((_, _) -> futures.forEach(future -> future.cancel(true)));
+    return result;
+  }
+
+  public static <T> CompletableFuture<T> hedged(Supplier<? extends T> call, Duration hedgeDelay, int maxAttempts) {
+    return hedged(call, hedgeDelay, maxAttempts, VIRTUAL_THREADS);
+  }
+
+  /**
+   * Starts {@code call}, then starts another attempt every {@code hedgeDelay} while no attempt has succeeded,
+   * up to {@code maxAttempts}. The first successful attempt wins and the others are cancelled (their threads
+   * interrupted); the result fails only if all attempts fail.
+   */
+  public static <T> CompletableFuture<T> hedged(Supplier<? extends T> call, Duration hedgeDelay, int maxAttempts,
+      Executor executor) {
+    Objects.requireNonNull(call, "call cannot be null");
+    if (maxAttempts <= 0) {
+      throw new IllegalArgumentException("maxAttempts must be positive");
+    }
+    CompletableFuture<T> result = new CompletableFuture<>();
+    List<CompletableFuture<T>> attempts = new ArrayList<>();
+    AtomicInteger pending = new AtomicInteger(maxAttempts);
+    List<Throwable> failures = new ArrayList<>();
+    for (int attempt = 0; attempt < maxAttempts; attempt++) {
+      Executor delayed = attempt == 0 ? executor
+          : CompletableFuture.delayedExecutor(hedgeDelay.toNanos() * attempt, TimeUnit.NANOSECONDS, executor);
+      CompletableFuture<T> future = supplyInterruptibly(call, result, delayed);
+      synchronized (attempts) {
+        attempts.add(future);
+      }
+      future.whenComplete((value, failure) -> {
+        if (failure == null) {
+          result.complete(value);
+          return;
+        }
+        synchronized (failures) {
+          failures.add(unwrap(failure));
+        }
+        if (pending.decrementAndGet() == 0) {
+          result.completeExceptionally(combine(failures));
+        }
+      });
+    }
+    result.whenComplete((_, _) -> {
+      synchronized (attempts) {
+        attempts.forEach(attempt -> attempt.cancel(true));
+      }
+    });
+    return result;
+  }
+
+  public static <T> CompletableFuture<List<T>> allOf(List<? extends Supplier<? extends T>> tasks, int maxConcurrency,
+      Duration taskDeadline) {
+    return allOf(tasks, maxConcurrency, taskDeadline, VIRTUAL_THREADS);
+  }
+
+  /**
+   * Runs the tasks with at most {@code maxConcurrency} in flight; each task fails with
+   * {@link java.util.concurrent.TimeoutException} (and its thread is interrupted) if it runs longer than
+   * {@code taskDeadline}. The result holds the values in task order and fails as soon as any task fails.
+   */
+  public static <T> CompletableFuture<List<T>> allOf(List<? extends Supplier<? extends T>> tasks, int maxConcurrency,
+      Duration taskDeadline, Executor executor) {
+    if (maxConcurrency <= 0) {
+      throw new IllegalArgumentException("maxConcurrency must be positive");
+    }
+    if (tasks.isEmpty()) {
+      return CompletableFuture.completedFuture(List.of());
+    }
+    Semaphore permits = new Semaphore(maxConcurrency);
+    CompletableFuture<List<T>> result = new CompletableFuture<>();
+    List<CompletableFuture<T>> futures = new ArrayList<>(tasks.size());
+    for (Supplier<? extends T> task : tasks) {
+      CompletableFuture<T> future = new CompletableFuture<>();
+      executor.execute(() -> {
+        permits.acquireUninterruptibly();
+        try {
+          if (!result.isDone()) {
+            future.orTimeout(taskDeadline.toNanos(), TimeUnit.NANOSECONDS);
+            run(task, future);
+          }
+        } finally {
+          permits.release();
+        }
+      });
+      future.whenComplete((_, failure) -> {
+        if (failure != null) {
+          result.completeExceptionally(unwrap(failure));
+        }
+      });
+      futures.add(future);
+    }
+    CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+        .thenRun(() -> result.complete(futures.stream().map(CompletableFuture::join).toList()));
+    result.whenComplete((_, failure) -> {
+      if (failure != null) {
+        futures.forEach(future -> future.cancel(true));
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Like {@link CompletableFuture#supplyAsync}, but the call is skipped if {@code owner} is already done when it
+   * gets to run, and cancelling the returned future interrupts the running call.
+   */
+  private static <T> CompletableFuture<T> supplyInterruptibly(Supplier<? extends T> call, CompletableFuture<?> owner,
+      Executor executor) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    executor.execute(() -> {
+      if (owner.isDone()) {
+        future.cancel(false);
+      } else {
+        run(call, future);
+      }
+    });
+    return future;
+  }
+
+  /**
+   * Completes {@code future} with the result of {@code call} on the current thread. If the future is completed
+   * by someone else first (cancelled or timed out), the thread is interrupted; that interrupt never outlives
+   * the call, while an interrupt status the thread already had (e.g. a caller running the task through a direct
+   * executor) is left alone.
+   */
+  private static <T> void run(Supplier<? extends T> call, CompletableFuture<T> future) {
+    if (future.isDone()) {
+      return;
+    }
+    Thread runner = Thread.currentThread();
+    boolean alreadyInterrupted = runner.isInterrupted();
+    AtomicBoolean running = new AtomicBoolean(true);
+    AtomicBoolean interruptDelivered = new AtomicBoolean();
+    future.whenComplete((_, _) -> {
+      synchronized (running) {
+        if (running.get()) {
+          interruptDelivered.set(true);
+          runner.interrupt();
+        }
+      }
+    });
+    T value = null;
+    Throwable failure = null;
+    try {
+      value = call.get();
+    } catch (Throwable e) {
+      failure = e;
+    }
+    synchronized (running) {
+      running.set(false);
+      if (interruptDelivered.get() && !alreadyInterrupted) {
+        Thread.interrupted();
+      }
+    }
+    if (failure == null) {
+      future.complete(value);
+    } else {
+      future.completeExceptionally(failure);
+    }
+  }
+
+  private static Throwable unwrap(Throwable failure) {
+    return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+  }
+
+  private static Throwable combine(List<Throwable> failures) {
+    synchronized (failures) {
+      Throwable last = failures.getLast();
+      failures.stream().filter(failure -> failure != last).forEach(last::addSuppressed);
+      return last;
+    }
+  }
+
+}
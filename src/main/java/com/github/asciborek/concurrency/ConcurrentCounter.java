@@ -1,11 +1,15 @@
 package com.github.asciborek.concurrency;
 
+import com.github.asciborek.metrics.Metrics;
+import com.github.asciborek.metrics.Timer;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
 
 public class ConcurrentCounter {
 
+  private static final Timer LOCK_WAIT = Metrics.component("ConcurrentCounter").timer("lockWait");
+
   private int counter;
   private final ReadLock readLock;
   private final WriteLock writeLock;
@@ -25,28 +29,27 @@ public class ConcurrentCounter {
   }
 
   public int incrementAndGet() {
-    try {
-      writeLock.lock();
-      return incrementAndGet(1);
-    } finally {
-      writeLock.unlock();
-    }
+    return incrementAndGet(1);
   }
 
   public int incrementAndGet(int summand) {
     try {
+      long start = LOCK_WAIT.start();
       writeLock.lock();
+      LOCK_WAIT.stop(start);
       this.counter += summand;
+      return counter;
     } finally {
       writeLock.unlock();
     }
-    return counter;
   }
 
   public int getValue() {
     int value;
     try {
+      long start = LOCK_WAIT.start();
       readLock.lock();
+      LOCK_WAIT.stop(start);
       value = counter;
     } finally {
       readLock.unlock();
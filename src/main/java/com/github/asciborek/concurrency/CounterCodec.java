@@ -0,0 +1,83 @@
+package com.github.asciborek.concurrency;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Binary encoding of counter slots: a varint slot count, then per slot the varint length of the UTF-8 node id,
+ * the id and the varint value. Varints are unsigned LEB128, 7 bits per byte, so a slot below 16384 with a short id
+ * takes a handful of bytes.
+ */
+final class CounterCodec {
+
+  static final byte G_COUNTER = 1;
+  static final byte PN_COUNTER = 2;
+
+  private CounterCodec() {}
+
+  static void writeSlots(ByteArrayOutputStream out, Map<String, Long> slots) {
+    writeVarLong(out, slots.size());
+    slots.forEach((node, value) -> {
+      byte[] id = node.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(out, id.length);
+      out.writeBytes(id);
+      writeVarLong(out, value);
+    });
+  }
+
+  static Map<String, Long> readSlots(ByteBuffer in) {
+    try {
+      long count = readVarLong(in);
+      if (count > in.remaining()) {
+        throw new IllegalArgumentException("malformed counter encoding");
+      }
+      Map<String, Long> slots = new LinkedHashMap<>();
+      for (long i = 0; i < count; i++) {
+        long length = readVarLong(in);
+        if (length > in.remaining()) {
+          throw new IllegalArgumentException("malformed counter encoding");
+        }
+        byte[] id = new byte[(int) length];
+        in.get(id);
+        slots.put(new String(id, StandardCharsets.UTF_8), readVarLong(in));
+      }
+      return slots;
+    } catch (BufferUnderflowException e) {
+      throw new IllegalArgumentException("malformed counter encoding", e);
+    }
+  }
+
+  static void readType(ByteBuffer in, byte expected) {
+    if (!in.hasRemaining() || in.get() != expected) {
+      throw new IllegalArgumentException("not an encoding of this counter type");
+    }
+  }
+
+  static void writeVarLong(ByteArrayOutputStream out, long value) {
+    while ((value & ~0x7FL) != 0) {
+      out.write((int) ((value & 0x7F) | 0x80));
+      value >>>= 7;
+    }
+    out.write((int) value);
+  }
+
+  static long readVarLong(ByteBuffer in) {
+    long value = 0;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      byte b = in.get();
+      value |= (long) (b & 0x7F) << shift;
+      if (b >= 0) {
+        if (value < 0) {
+          throw new IllegalArgumentException("malformed counter encoding");
+        }
+        return value;
+      }
+    }
+    throw new IllegalArgumentException("malformed counter encoding");
+  }
+
+}
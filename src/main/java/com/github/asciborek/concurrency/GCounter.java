@@ -0,0 +1,113 @@
+package com.github.asciborek.concurrency;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Grow-only counter CRDT for counting across several nodes without coordination. Every node increments only its
+ * own slot, the value is the sum of all slots, and replicas converge by taking the per-slot maximum. That merge is
+ * commutative, associative and idempotent, so deltas may be delivered late, out of order or more than once.
+ *
+ * <p>{@link #delta()} encodes only the slots changed since the previous call (see {@link CounterCodec} for the
+ * format), including slots raised by merges, so deltas can also be relayed through other nodes. Thread-safe.
+ */
+public class GCounter {
+
+  private final String node;
+  private final ConcurrentHashMap<String, Long> slots = new ConcurrentHashMap<>();
+  private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+  public GCounter(String node) {
+    this.node = Objects.requireNonNull(node, "node cannot be null");
+  }
+
+  public String node() {
+    return node;
+  }
+
+  public void increment() {
+    add(1);
+  }
+
+  public void add(long summand) {
+    if (summand < 0) {
+      throw new IllegalArgumentException("summand must not be negative");
+    }
+    slots.merge(node, summand, Math::addExact);
+    dirty.add(node);
+  }
+
+  public long value() {
+    long value = 0;
+    for (long slot : slots.values()) {
+      value += slot;
+    }
+    return value;
+  }
+
+  /**
+   * Slots changed since the previous delta, or an empty delta. A slot changed concurrently is sent again next time.
+   */
+  public byte[] delta() {
+    return encode(drainChanged());
+  }
+
+  /**
+   * All slots, e.g. for a node joining late.
+   */
+  public byte[] state() {
+    return encode(slots());
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code encoded} is not a {@link GCounter} delta or state
+   */
+  public void merge(byte[] encoded) {
+    ByteBuffer in = ByteBuffer.wrap(encoded);
+    CounterCodec.readType(in, CounterCodec.G_COUNTER);
+    Map<String, Long> received = CounterCodec.readSlots(in);
+    if (in.hasRemaining()) {
+      throw new IllegalArgumentException("malformed counter encoding");
+    }
+    mergeSlots(received);
+  }
+
+  public void merge(GCounter other) {
+    mergeSlots(other.slots());
+  }
+
+  void mergeSlots(Map<String, Long> received) {
+    received.forEach((receivedNode, value) -> {
+      if (slots.getOrDefault(receivedNode, -1L) < value) {
+        slots.merge(receivedNode, value, Math::max);
+        dirty.add(receivedNode);
+      }
+    });
+  }
+
+  Map<String, Long> drainChanged() {
+    Map<String, Long> changed = new LinkedHashMap<>();
+    for (String changedNode : dirty) {
+      dirty.remove(changedNode);
+      changed.put(changedNode, slots.get(changedNode));
+    }
+    return changed;
+  }
+
+  Map<String, Long> slots() {
+    return Map.copyOf(slots);
+  }
+
+  private static byte[] encode(Map<String, Long> slots) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(CounterCodec.G_COUNTER);
+    CounterCodec.writeSlots(out, slots);
+    return out.toByteArray();
+  }
+
+}
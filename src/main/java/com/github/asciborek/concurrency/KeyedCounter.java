@@ -0,0 +1,68 @@
+package com.github.asciborek.concurrency;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent map of {@code long} counters, e.g. per endpoint or per customer. Each key holds a single
+ * {@link LongAdder} and no lock object: cold keys cost one small cell, while hot keys under heavy skew spread
+ * their increments over padded cells instead of contending on one word. Keys are never removed, since an
+ * increment racing with a removal would land on the detached adder and be lost.
+ */
+public class KeyedCounter<K> {
+
+  private final ConcurrentHashMap<K, LongAdder> counters = new ConcurrentHashMap<>();
+
+  public void increment(K key) {
+    add(key, 1);
+  }
+
+  public void add(K key, long summand) {
+    LongAdder counter = counters.get(key);
+    if (counter == null) {
+      counter = counters.computeIfAbsent(key, _ -> new LongAdder());
+    }
+    counter.add(summand);
+  }
+
+  public long get(K key) {
+    LongAdder counter = counters.get(key);
+    return counter == null ? 0 : counter.sum();
+  }
+
+  public int size() {
+    return counters.size();
+  }
+
+  /**
+   * Exact heavy hitters: scans the live map once, keeping only a {@code k}-sized min-heap, so nothing but the
+   * result is copied. Counts concurrently incremented during the scan may be read at any point of the scan.
+   * Ties are broken arbitrarily.
+   */
+  public List<Entry<K>> topK(int k) {
+    if (k <= 0) {
+      throw new IllegalArgumentException("k must be positive");
+    }
+    PriorityQueue<Entry<K>> heap = new PriorityQueue<>(Math.min(k, counters.size()) + 1, Comparator.comparingLong(Entry::count));
+    for (Map.Entry<K, LongAdder> counter : counters.entrySet()) {
+      long count = counter.getValue().sum();
+      if (heap.size() < k) {
+        heap.add(new Entry<>(counter.getKey(), count));
+      } else if (count > heap.peek().count()) {
+        heap.poll();
+        heap.add(new Entry<>(counter.getKey(), count));
+      }
+    }
+    List<Entry<K>> top = new ArrayList<>(heap);
+    top.sort(Comparator.comparingLong(Entry<K>::count).reversed());
+    return top;
+  }
+
+  public record Entry<K>(K key, long count) {}
+
+}
@@ -0,0 +1,42 @@
+package com.github.asciborek.concurrency;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * A counter stored in a {@link MappedCounterRegistry} file. Updates are atomic on the mapped memory and visible
+ * to every handle of the same slot, including other processes mapping the file.
+ */
+public class MappedCounter {
+
+  private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+
+  private final String name;
+  private final ByteBuffer buffer;
+  private final int offset;
+
+  MappedCounter(String name, ByteBuffer buffer, int offset) {
+    this.name = name;
+    this.buffer = buffer;
+    this.offset = offset;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public long incrementAndGet() {
+    return addAndGet(1);
+  }
+
+  public long addAndGet(long summand) {
+    return (long) LONGS.getAndAdd(buffer, offset, summand) + summand;
+  }
+
+  public long get() {
+    return (long) LONGS.getVolatile(buffer, offset);
+  }
+
+}
@@ -0,0 +1,323 @@
+package com.github.asciborek.concurrency;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Named {@code long} counters whose values live in a memory-mapped file, so they survive restarts without
+ * replaying anything: reopening the file only maps it and reads the names. Increments are atomic
+ * {@code getAndAdd}s on the mapped memory, as cheap as on an {@code AtomicLong}.
+ *
+ * <p>Durability: every completed increment is in the OS page cache and survives a crash of the JVM. Surviving a
+ * crash of the machine requires the pages to reach the disk, which {@link #checkpoint()} forces, periodically if
+ * a checkpoint interval is given. A counter is published by bumping the header's count after its slot is written,
+ * so a crash during registration leaves at most an unused slot, never a half-written name.
+ *
+ * <p>Several registries, in this or other processes, may map the same file. Registration holds an exclusive
+ * {@link FileLock} on the header and first picks up the counters the other mappings appended since this one last
+ * looked, so a name always gets a single slot and no two writers claim the same one.
+ *
+ * <p>Layout (little-endian): a 64-byte header ({@code int} magic, version, capacity, count) followed by
+ * {@code capacity} 64-byte slots of {@code long} value, {@code byte} name length and up to
+ * {@value #MAX_NAME_BYTES} bytes of UTF-8 name.
+ */
+public class MappedCounterRegistry implements AutoCloseable {
+
+  static final int MAGIC = 0x52544E43; // "CNTR" read little-endian
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = 64;
+  static final int SLOT_SIZE = 64;
+  static final int MAX_NAME_BYTES = SLOT_SIZE - Long.BYTES - 1;
+  static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / SLOT_SIZE;
+  private static final int CAPACITY_OFFSET = 8;
+  private static final int COUNT_OFFSET = 12;
+  private static final int NAME_LENGTH_OFFSET = Long.BYTES;
+  private static final int NAME_OFFSET = NAME_LENGTH_OFFSET + 1;
+
+  private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+  private static final VarHandle INTS = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.LITTLE_ENDIAN);
+
+  /**
+   * A JVM holds file locks for all its threads and refuses overlapping ones, so registries of this JVM take turns
+   * before locking the file.
+   */
+  private static final ReentrantLock REGISTRATION_LOCK = new ReentrantLock();
+
+  private final Path path;
+  /**
+   * Only used for the header lock; replaced if an interrupt closed it. Guarded by the registration locks.
+   */
+  private FileChannel channel;
+  private final Arena arena;
+  private final MemorySegment file;
+  private final ByteBuffer buffer;
+  private final int capacity;
+  private final Map<String, MappedCounter> counters = new ConcurrentHashMap<>();
+  private final ScheduledExecutorService checkpoints;
+  /**
+   * Slots already read into {@link #counters}, guarded by the registration locks.
+   */
+  private int knownSlots;
+
+  private MappedCounterRegistry(Path path, FileChannel channel, Arena arena, MemorySegment file,
+      Duration checkpointInterval) {
+    this.path = path;
+    this.channel = channel;
+    this.arena = arena;
+    this.file = file;
+    this.buffer = file.asByteBuffer().order(ByteOrder.LITTLE_ENDIAN);
+    this.capacity = buffer.getInt(CAPACITY_OFFSET);
+    readNewSlots();
+    if (checkpointInterval == null) {
+      this.checkpoints = null;
+    } else {
+      this.checkpoints = Executors.newSingleThreadScheduledExecutor(
+          Thread.ofPlatform().name("counter-checkpoint").daemon().factory());
+      long millis = checkpointInterval.toMillis();
+      checkpoints.scheduleWithFixedDelay(this::checkpoint, millis, millis, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  public static MappedCounterRegistry open(Path path, int capacity) throws IOException {
+    return open(path, capacity, null);
+  }
+
+  /**
+   * Maps an existing registry file, or creates one with room for {@code capacity} counters. The capacity of an
+   * existing file is kept.
+   *
+   * @param checkpointInterval how often to {@link #checkpoint()} in the background, or {@code null} for never
+   */
+  public static MappedCounterRegistry open(Path path, int capacity, Duration checkpointInterval) throws IOException {
+    if (capacity <= 0 || capacity > MAX_CAPACITY) {
+      throw new IllegalArgumentException("capacity must be between 1 and " + MAX_CAPACITY);
+    }
+    if (checkpointInterval != null && !checkpointInterval.isPositive()) {
+      throw new IllegalArgumentException("checkpointInterval must be positive");
+    }
+    // the file operations below are interruptible and would close the channel, so hold the interrupt back
+    boolean interrupted = Thread.interrupted();
+    Arena arena = Arena.ofShared();
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      long size;
+      REGISTRATION_LOCK.lock();
+      try (FileLock _ = lockHeader(channel)) {
+        if (channel.size() == 0) {
+          initialize(channel, capacity);
+        }
+        size = checkHeader(channel);
+      } finally {
+        REGISTRATION_LOCK.unlock();
+      }
+      return new MappedCounterRegistry(path, channel, arena, channel.map(MapMode.READ_WRITE, 0, size, arena),
+          checkpointInterval);
+    } catch (IOException | RuntimeException e) {
+      arena.close();
+      channel.close();
+      throw e;
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static FileLock lockHeader(FileChannel channel) throws IOException {
+    return channel.lock(0, HEADER_SIZE, false);
+  }
+
+  /**
+   * Locks the header for a registration. {@link FileChannel#lock} closes the channel when the thread is interrupted,
+   * so the interrupt is held back while locking and restored afterwards, and a channel closed by an interrupt that
+   * arrived while waiting is reopened.
+   */
+  private FileLock lockForRegistration() throws IOException {
+    boolean interrupted = Thread.interrupted();
+    try {
+      while (true) {
+        if (!channel.isOpen()) {
+          channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+        try {
+          return lockHeader(channel);
+        } catch (ClosedByInterruptException e) {
+          interrupted |= Thread.interrupted();
+        }
+      }
+    } finally {
+      if (interrupted) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static void initialize(FileChannel channel, int capacity) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN)
+        .putInt(MAGIC).putInt(VERSION).putInt(capacity).putInt(0)
+        .position(HEADER_SIZE).flip();
+    while (header.hasRemaining()) {
+      channel.write(header, header.position());
+    }
+    channel.write(ByteBuffer.allocate(1), HEADER_SIZE + (long) capacity * SLOT_SIZE - 1);
+    channel.force(true);
+  }
+
+  /**
+   * @return the expected file size
+   */
+  private static long checkHeader(FileChannel channel) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    while (header.hasRemaining()) {
+      if (channel.read(header, header.position()) < 0) {
+        break;
+      }
+    }
+    header.flip();
+    if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC) {
+      throw new IOException("not a counter registry file");
+    }
+    int version = header.getInt();
+    if (version != VERSION) {
+      throw new IOException("unsupported counter registry version: " + version);
+    }
+    int capacity = header.getInt();
+    int count = header.getInt();
+    long size = HEADER_SIZE + (long) capacity * SLOT_SIZE;
+    if (capacity <= 0 || capacity > MAX_CAPACITY || count < 0 || count > capacity || channel.size() < size) {
+      throw new IOException("corrupted counter registry file");
+    }
+    return size;
+  }
+
+  /**
+   * Returns the counter with the given name, registering it (with value 0) on first use.
+   *
+   * @throws IllegalArgumentException if the name is longer than {@value #MAX_NAME_BYTES} UTF-8 bytes
+   * @throws IllegalStateException if all {@code capacity} slots are taken
+   */
+  public MappedCounter counter(String name) {
+    MappedCounter counter = counters.get(name);
+    return counter != null ? counter : register(name);
+  }
+
+  private MappedCounter register(String name) {
+    byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+    if (bytes.length == 0 || bytes.length > MAX_NAME_BYTES) {
+      throw new IllegalArgumentException("name must have 1 to " + MAX_NAME_BYTES + " UTF-8 bytes");
+    }
+    REGISTRATION_LOCK.lock();
+    try (FileLock _ = lockForRegistration()) {
+      readNewSlots();
+      MappedCounter counter = counters.get(name);
+      if (counter != null) {
+        return counter;
+      }
+      int slot = knownSlots;
+      if (slot >= capacity) {
+        throw new IllegalStateException("counter registry is full: " + capacity + " counters");
+      }
+      int offset = slotOffset(slot);
+      LONGS.setRelease(buffer, offset, 0L);
+      buffer.put(offset + NAME_LENGTH_OFFSET, (byte) bytes.length);
+      buffer.put(offset + NAME_OFFSET, bytes);
+      INTS.setRelease(buffer, COUNT_OFFSET, slot + 1);
+      knownSlots = slot + 1;
+      counter = new MappedCounter(name, buffer, offset);
+      counters.put(name, counter);
+      return counter;
+    } catch (IOException e) {
+      throw new UncheckedIOException("cannot lock the counter registry file", e);
+    } finally {
+      REGISTRATION_LOCK.unlock();
+    }
+  }
+
+  /**
+   * Adds the counters appended to the file, by this or another mapping, since the last call.
+   */
+  private void readNewSlots() {
+    int count = (int) INTS.getAcquire(buffer, COUNT_OFFSET);
+    for (; knownSlots < count; knownSlots++) {
+      MappedCounter counter = new MappedCounter(readName(knownSlots), buffer, slotOffset(knownSlots));
+      counters.putIfAbsent(counter.name(), counter);
+    }
+  }
+
+  /**
+   * Current values in registration order.
+   */
+  public Map<String, Long> snapshot() {
+    Map<String, Long> snapshot = new LinkedHashMap<>();
+    int count = (int) INTS.getAcquire(buffer, COUNT_OFFSET);
+    for (int slot = 0; slot < count; slot++) {
+      snapshot.put(readName(slot), (long) LONGS.getVolatile(buffer, slotOffset(slot)));
+    }
+    return snapshot;
+  }
+
+  public int capacity() {
+    return capacity;
+  }
+
+  /**
+   * Forces the mapped values to the storage device. Increments keep running while it does, and may or may not be
+   * included.
+   */
+  public void checkpoint() {
+    file.force();
+  }
+
+  /**
+   * Stops periodic checkpoints, checkpoints once more and unmaps the file. Counters must not be used afterwards.
+   */
+  @Override
+  public void close() {
+    if (checkpoints != null) {
+      checkpoints.close();
+    }
+    checkpoint();
+    arena.close();
+    REGISTRATION_LOCK.lock();
+    try {
+      channel.close();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      REGISTRATION_LOCK.unlock();
+    }
+  }
+
+  private String readName(int slot) {
+    int offset = slotOffset(slot);
+    byte[] bytes = new byte[buffer.get(offset + NAME_LENGTH_OFFSET)];
+    buffer.get(offset + NAME_OFFSET, bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static int slotOffset(int slot) {
+    return HEADER_SIZE + slot * SLOT_SIZE;
+  }
+
+}
@@ -0,0 +1,156 @@
+package com.github.asciborek.concurrency;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock.ReadLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock.WriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Groups items submitted one at a time by many threads into batches for a handler whose cost is per call rather
+ * than per item. A batch is handed over when it reaches {@code maxBatchSize} or when its first item has waited
+ * {@code maxLinger}. The queue is bounded: {@link #submit} blocks while it is full, which pushes back on
+ * producers. Each item's future completes when the handler returns for its batch, or fails with whatever the
+ * handler threw, {@link Error}s included.
+ */
+public class MicroBatcher<T> implements AutoCloseable {
+
+  private static final Pending<?> CLOSE_MARKER = new Pending<>(null, null);
+
+  private final Consumer<? super List<T>> batchHandler;
+  private final int maxBatchSize;
+  private final long maxLingerNanos;
+  private final BlockingQueue<Pending<T>> queue;
+  private final ReadLock submitLock;
+  private final WriteLock closeLock;
+  private final Thread worker;
+  private volatile boolean closed;
+
+  public MicroBatcher(Consumer<? super List<T>> batchHandler, int maxBatchSize, Duration maxLinger, int queueCapacity) {
+    if (maxBatchSize <= 0 || queueCapacity <= 0) {
+      throw new IllegalArgumentException("maxBatchSize and queueCapacity must be positive");
+    }
+    this.batchHandler = batchHandler;
+    this.maxBatchSize = maxBatchSize;
+    this.maxLingerNanos = maxLinger.toNanos();
+    this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    var lock = new ReentrantReadWriteLock();
+    this.submitLock = lock.readLock();
+    this.closeLock = lock.writeLock();
+    this.worker = Thread.ofVirtual().name("micro-batcher").start(this::processBatches);
+  }
+
+  /**
+   * @throws IllegalStateException if the batcher is closed
+   */
+  public CompletableFuture<Void> submit(T item) throws InterruptedException {
+    Pending<T> pending = new Pending<>(item, new CompletableFuture<>());
+    submitLock.lockInterruptibly();
+    try {
+      if (closed) {
+        throw new IllegalStateException("batcher is closed");
+      }
+      queue.put(pending);
+    } finally {
+      submitLock.unlock();
+    }
+    return pending.future();
+  }
+
+  /**
+   * Stops accepting items and waits until everything already submitted has been handled. If interrupted, the
+   * batcher still shuts down in the background, and another call waits for it again.
+   */
+  @Override
+  public void close() throws InterruptedException {
+    boolean alreadyClosed;
+    try {
+      closeLock.lock();
+      alreadyClosed = closed;
+      closed = true;
+    } finally {
+      closeLock.unlock();
+    }
+    if (!alreadyClosed) {
+      enqueueCloseMarker();
+    }
+    worker.join();
+  }
+
+  /**
+   * The marker is the worker's only way out of {@code take()}, so an interrupt must not skip it: keep waiting for
+   * room and restore the interrupt afterwards.
+   */
+  private void enqueueCloseMarker() {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        queue.put(closeMarker());
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void processBatches() {
+    List<Pending<T>> batch = new ArrayList<>(maxBatchSize);
+    try {
+      boolean closing = false;
+      while (!closing) {
+        Pending<T> first = queue.take();
+        if (first == CLOSE_MARKER) {
+          return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + maxLingerNanos;
+        while (batch.size() < maxBatchSize) {
+          Pending<T> next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+          if (next == null) {
+            break;
+          }
+          if (next == CLOSE_MARKER) {
+            closing = true;
+            break;
+          }
+          batch.add(next);
+        }
+        handle(batch);
+        batch.clear();
+      }
+    } catch (InterruptedException e) {
+      batch.forEach(pending -> pending.future().completeExceptionally(e));
+      queue.stream().filter(pending -> pending != CLOSE_MARKER)
+          .forEach(pending -> pending.future().completeExceptionally(e));
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private Pending<T> closeMarker() {
+    return (Pending<T>) CLOSE_MARKER;
+  }
+
+  private void handle(List<Pending<T>> batch) {
+    List<T> items = new ArrayList<>(batch.size());
+    batch.forEach(pending -> items.add(pending.item()));
+    try {
+      batchHandler.accept(items);
+      batch.forEach(pending -> pending.future().complete(null));
+    } catch (Throwable e) {
+      // an Error fails only its batch, the worker keeps serving the queue so producers and close() never hang
+      batch.forEach(pending -> pending.future().completeExceptionally(e));
+    }
+  }
+
+  private record Pending<T>(T item, CompletableFuture<Void> future) {}
+
+}
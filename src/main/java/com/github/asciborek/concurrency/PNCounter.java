@@ -0,0 +1,84 @@
+package com.github.asciborek.concurrency;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Counter CRDT that can also be decremented: a pair of {@link GCounter}s counting increments and decrements, whose
+ * difference is the value. Merging and deltas work as for {@link GCounter}; an encoding holds the changed
+ * increment slots followed by the changed decrement slots. Thread-safe.
+ */
+public class PNCounter {
+
+  private final GCounter increments;
+  private final GCounter decrements;
+
+  public PNCounter(String node) {
+    this.increments = new GCounter(node);
+    this.decrements = new GCounter(node);
+  }
+
+  public String node() {
+    return increments.node();
+  }
+
+  public void increment() {
+    increments.add(1);
+  }
+
+  public void decrement() {
+    decrements.add(1);
+  }
+
+  public void add(long summand) {
+    if (summand >= 0) {
+      increments.add(summand);
+    } else if (summand == Long.MIN_VALUE) {
+      throw new ArithmeticException("long overflow");
+    } else {
+      decrements.add(-summand);
+    }
+  }
+
+  public long value() {
+    return increments.value() - decrements.value();
+  }
+
+  public byte[] delta() {
+    return encode(increments.drainChanged(), decrements.drainChanged());
+  }
+
+  public byte[] state() {
+    return encode(increments.slots(), decrements.slots());
+  }
+
+  /**
+   * @throws IllegalArgumentException if {@code encoded} is not a {@link PNCounter} delta or state
+   */
+  public void merge(byte[] encoded) {
+    ByteBuffer in = ByteBuffer.wrap(encoded);
+    CounterCodec.readType(in, CounterCodec.PN_COUNTER);
+    Map<String, Long> receivedIncrements = CounterCodec.readSlots(in);
+    Map<String, Long> receivedDecrements = CounterCodec.readSlots(in);
+    if (in.hasRemaining()) {
+      throw new IllegalArgumentException("malformed counter encoding");
+    }
+    increments.mergeSlots(receivedIncrements);
+    decrements.mergeSlots(receivedDecrements);
+  }
+
+  public void merge(PNCounter other) {
+    increments.merge(other.increments);
+    decrements.merge(other.decrements);
+  }
+
+  private static byte[] encode(Map<String, Long> increments, Map<String, Long> decrements) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    out.write(CounterCodec.PN_COUNTER);
+    CounterCodec.writeSlots(out, increments);
+    CounterCodec.writeSlots(out, decrements);
+    return out.toByteArray();
+  }
+
+}
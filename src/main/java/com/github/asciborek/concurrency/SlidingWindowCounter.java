@@ -0,0 +1,105 @@
+package com.github.asciborek.concurrency;
+
+import java.time.Duration;
+import java.time.InstantSource;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Counts events over a sliding time window, e.g. requests in the last 1s/10s/60s. The window is split into a
+ * ring of fixed-length buckets, each a {@link StripedCounter}; a stale bucket is replaced with a CAS when time
+ * moves on, so increments never take a lock. An increment that lands in a bucket just as it is replaced is
+ * carried over to the bucket that replaced it rather than lost. Queries sum at most {@code bucketCount} buckets
+ * and include the current, partially elapsed one.
+ */
+public class SlidingWindowCounter {
+
+  private final InstantSource clock;
+  private final long bucketMillis;
+  private final AtomicReferenceArray<Bucket> buckets;
+
+  public SlidingWindowCounter(Duration window, int bucketCount) {
+    this(window, bucketCount, InstantSource.system());
+  }
+
+  public SlidingWindowCounter(Duration window, int bucketCount, InstantSource clock) {
+    if (bucketCount <= 0) {
+      throw new IllegalArgumentException("bucketCount must be positive");
+    }
+    if (window.toMillis() < bucketCount) {
+      throw new IllegalArgumentException("window must be at least 1ms per bucket");
+    }
+    if (window.toNanos() % (bucketCount * 1_000_000L) != 0) {
+      throw new IllegalArgumentException("window must split into whole milliseconds per bucket");
+    }
+    this.clock = clock;
+    this.bucketMillis = window.toMillis() / bucketCount;
+    this.buckets = new AtomicReferenceArray<>(bucketCount);
+  }
+
+  public void increment() {
+    add(1);
+  }
+
+  public void add(long summand) {
+    Bucket bucket = currentBucket();
+    bucket.counter().add(summand);
+    // the thread that replaced the bucket never reads it again, so a summand added too late goes to its successor
+    while (buckets.get(index(bucket.epoch())) != bucket) {
+      bucket = currentBucket();
+      bucket.counter().add(summand);
+    }
+  }
+
+  /**
+   * Number of events in the last {@code window}, rounded up to whole buckets and capped at the counter's window.
+   */
+  public long count(Duration window) {
+    long now = currentEpoch();
+    long oldest = now - bucketsIn(window);
+    long count = 0;
+    for (int i = 0; i < buckets.length(); i++) {
+      Bucket bucket = buckets.get(i);
+      if (bucket != null && bucket.epoch() > oldest && bucket.epoch() <= now) {
+        count += bucket.counter().sum();
+      }
+    }
+    return count;
+  }
+
+  public double ratePerSecond(Duration window) {
+    return count(window) * 1000.0 / (bucketsIn(window) * bucketMillis);
+  }
+
+  private long bucketsIn(Duration window) {
+    long millis = window.toMillis();
+    if (millis <= 0) {
+      throw new IllegalArgumentException("window must be positive");
+    }
+    return Math.min((millis + bucketMillis - 1) / bucketMillis, buckets.length());
+  }
+
+  private Bucket currentBucket() {
+    long epoch = currentEpoch();
+    int index = index(epoch);
+    Bucket bucket = buckets.get(index);
+    while (bucket == null || bucket.epoch() < epoch) {
+      Bucket fresh = new Bucket(epoch, new StripedCounter());
+      if (buckets.compareAndSet(index, bucket, fresh)) {
+        return fresh;
+      }
+      bucket = buckets.get(index);
+    }
+    return bucket;
+  }
+
+  private int index(long epoch) {
+    return (int) Math.floorMod(epoch, (long) buckets.length());
+  }
+
+  private long currentEpoch() {
+    return clock.millis() / bucketMillis;
+  }
+
+  private record Bucket(long epoch, StripedCounter counter) {}
+
+}
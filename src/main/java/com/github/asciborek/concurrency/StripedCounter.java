@@ -0,0 +1,41 @@
+package com.github.asciborek.concurrency;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention-free alternative to {@link ConcurrentCounter}. Increments are spread over padded per-thread cells
+ * (see {@link LongAdder}), so writers never block each other; the price is that reads have to sum all cells
+ * and there is no atomic "increment and get".
+ */
+public class StripedCounter {
+
+  private final LongAdder cells = new LongAdder();
+
+  public StripedCounter() {
+    this(0L);
+  }
+
+  public StripedCounter(long counter) {
+    if (counter < 0) {
+      throw new IllegalArgumentException("counter must be a natural number");
+    }
+    cells.add(counter);
+  }
+
+  public void increment() {
+    cells.increment();
+  }
+
+  public void add(long summand) {
+    cells.add(summand);
+  }
+
+  public long sum() {
+    return cells.sum();
+  }
+
+  public long sumThenReset() {
+    return cells.sumThenReset();
+  }
+
+}
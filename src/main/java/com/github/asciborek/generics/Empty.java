@@ -4,6 +4,9 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 public final class Empty<T> implements Option<T> {
 
@@ -31,6 +34,21 @@ public final class Empty<T> implements Option<T> {
     return Option.empty();
   }
 
+  @Override
+  public OptionInt mapToInt(ToIntFunction<? super T> mapper) {
+    return OptionInt.empty();
+  }
+
+  @Override
+  public OptionLong mapToLong(ToLongFunction<? super T> mapper) {
+    return OptionLong.empty();
+  }
+
+  @Override
+  public OptionDouble mapToDouble(ToDoubleFunction<? super T> mapper) {
+    return OptionDouble.empty();
+  }
+
   @Override
   public T orElse(T defaultValue) {
     return defaultValue;
@@ -54,6 +72,9 @@ public final class Empty<T> implements Option<T> {
 
   @Override
   public boolean equals(Object obj) {
+    if (obj instanceof Lazy<?> lazy) {
+      return lazy.evaluate() instanceof Empty;
+    }
     return obj instanceof Empty;
   }
 
@@ -0,0 +1,78 @@
+package com.github.asciborek.generics;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+public final class EmptyDouble implements OptionDouble {
+
+  static final EmptyDouble EMPTY_OPTION = new EmptyDouble();
+
+  private EmptyDouble() {}
+
+  @Override
+  public boolean isPresent() {
+    return false;
+  }
+
+  @Override
+  public void ifPresent(DoubleConsumer consumer) {
+  }
+
+  @Override
+  public OptionDouble filter(DoublePredicate filter) {
+    return this;
+  }
+
+  @Override
+  public OptionDouble map(DoubleUnaryOperator mapper) {
+    return this;
+  }
+
+  @Override
+  public OptionInt mapToInt(DoubleToIntFunction mapper) {
+    return OptionInt.empty();
+  }
+
+  @Override
+  public OptionLong mapToLong(DoubleToLongFunction mapper) {
+    return OptionLong.empty();
+  }
+
+  @Override
+  public <U> Option<U> mapToObj(DoubleFunction<? extends U> mapper) {
+    return Option.empty();
+  }
+
+  @Override
+  public double orElse(double defaultValue) {
+    return defaultValue;
+  }
+
+  @Override
+  public double orElseGet(DoubleSupplier supplier) {
+    return supplier.getAsDouble();
+  }
+
+  @Override
+  public <X extends Throwable> double orElseThrow(Supplier<X> exceptionSupplier) throws X {
+    X exception = exceptionSupplier.get();
+    throw exception;
+  }
+
+  @Override
+  public int hashCode() {
+    return 0;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof EmptyDouble;
+  }
+
+}
@@ -0,0 +1,78 @@
+package com.github.asciborek.generics;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+public final class EmptyInt implements OptionInt {
+
+  static final EmptyInt EMPTY_OPTION = new EmptyInt();
+
+  private EmptyInt() {}
+
+  @Override
+  public boolean isPresent() {
+    return false;
+  }
+
+  @Override
+  public void ifPresent(IntConsumer consumer) {
+  }
+
+  @Override
+  public OptionInt filter(IntPredicate filter) {
+    return this;
+  }
+
+  @Override
+  public OptionInt map(IntUnaryOperator mapper) {
+    return this;
+  }
+
+  @Override
+  public OptionLong mapToLong(IntToLongFunction mapper) {
+    return OptionLong.empty();
+  }
+
+  @Override
+  public OptionDouble mapToDouble(IntToDoubleFunction mapper) {
+    return OptionDouble.empty();
+  }
+
+  @Override
+  public <U> Option<U> mapToObj(IntFunction<? extends U> mapper) {
+    return Option.empty();
+  }
+
+  @Override
+  public int orElse(int defaultValue) {
+    return defaultValue;
+  }
+
+  @Override
+  public int orElseGet(IntSupplier supplier) {
+    return supplier.getAsInt();
+  }
+
+  @Override
+  public <X extends Throwable> int orElseThrow(Supplier<X> exceptionSupplier) throws X {
+    X exception = exceptionSupplier.get();
+    throw exception;
+  }
+
+  @Override
+  public int hashCode() {
+    return 0;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof EmptyInt;
+  }
+
+}
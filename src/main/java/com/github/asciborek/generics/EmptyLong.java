@@ -0,0 +1,78 @@
+package com.github.asciborek.generics;
+
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+public final class EmptyLong implements OptionLong {
+
+  static final EmptyLong EMPTY_OPTION = new EmptyLong();
+
+  private EmptyLong() {}
+
+  @Override
+  public boolean isPresent() {
+    return false;
+  }
+
+  @Override
+  public void ifPresent(LongConsumer consumer) {
+  }
+
+  @Override
+  public OptionLong filter(LongPredicate filter) {
+    return this;
+  }
+
+  @Override
+  public OptionLong map(LongUnaryOperator mapper) {
+    return this;
+  }
+
+  @Override
+  public OptionInt mapToInt(LongToIntFunction mapper) {
+    return OptionInt.empty();
+  }
+
+  @Override
+  public OptionDouble mapToDouble(LongToDoubleFunction mapper) {
+    return OptionDouble.empty();
+  }
+
+  @Override
+  public <U> Option<U> mapToObj(LongFunction<? extends U> mapper) {
+    return Option.empty();
+  }
+
+  @Override
+  public long orElse(long defaultValue) {
+    return defaultValue;
+  }
+
+  @Override
+  public long orElseGet(LongSupplier supplier) {
+    return supplier.getAsLong();
+  }
+
+  @Override
+  public <X extends Throwable> long orElseThrow(Supplier<X> exceptionSupplier) throws X {
+    X exception = exceptionSupplier.get();
+    throw exception;
+  }
+
+  @Override
+  public int hashCode() {
+    return 0;
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return obj instanceof EmptyLong;
+  }
+
+}
@@ -0,0 +1,115 @@
+package com.github.asciborek.generics;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link Option} whose value is computed on first use and then memoized. {@link #map} and {@link #filter} return
+ * new lazy options without evaluating this one; every other method evaluates it (at most once, even when shared
+ * between threads). A lazy option equals the {@link Some} or {@link Empty} it evaluates to.
+ */
+public final class Lazy<T> implements Option<T> {
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private Supplier<? extends Option<T>> supplier;
+  private volatile Option<T> value;
+
+  Lazy(Supplier<? extends Option<T>> supplier) {
+    this.supplier = supplier;
+  }
+
+  public boolean isEvaluated() {
+    return value != null;
+  }
+
+  Option<T> evaluate() {
+    Option<T> result = value;
+    if (result == null) {
+      try {
+        lock.lock();
+        result = value;
+        if (result == null) {
+          result = supplier.get();
+          value = result;
+          supplier = null;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public boolean isPresent() {
+    return evaluate().isPresent();
+  }
+
+  @Override
+  public void ifPresent(Consumer<? super T> consumer) {
+    evaluate().ifPresent(consumer);
+  }
+
+  @Override
+  public Option<T> filter(Predicate<? super T> filter) {
+    return new Lazy<>(() -> evaluate().filter(filter));
+  }
+
+  @Override
+  public <U> Option<U> map(Function<? super T, ? extends U> mapper) {
+    return new Lazy<>(() -> evaluate().map(mapper));
+  }
+
+  @Override
+  public OptionInt mapToInt(ToIntFunction<? super T> mapper) {
+    return evaluate().mapToInt(mapper);
+  }
+
+  @Override
+  public OptionLong mapToLong(ToLongFunction<? super T> mapper) {
+    return evaluate().mapToLong(mapper);
+  }
+
+  @Override
+  public OptionDouble mapToDouble(ToDoubleFunction<? super T> mapper) {
+    return evaluate().mapToDouble(mapper);
+  }
+
+  @Override
+  public T orElse(T defaultValue) {
+    return evaluate().orElse(defaultValue);
+  }
+
+  @Override
+  public T orElseGet(Supplier<? extends T> supplier) {
+    return evaluate().orElseGet(supplier);
+  }
+
+  @Override
+  public <X extends Throwable> T orElseThrow(Supplier<X> exception) throws X {
+    return evaluate().orElseThrow(exception);
+  }
+
+  @Override
+  public int hashCode() {
+    return evaluate().hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj instanceof Lazy<?> other) {
+      return evaluate().equals(other.evaluate());
+    }
+    return evaluate().equals(obj);
+  }
+
+}
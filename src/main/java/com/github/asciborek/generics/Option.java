@@ -5,8 +5,11 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
-public sealed interface Option<T> permits Empty, Some {
+public sealed interface Option<T> permits Empty, Lazy, Some {
 
   static <T> Option<T> empty() {
     @SuppressWarnings("unchecked")
@@ -23,6 +26,14 @@ public sealed interface Option<T> permits Empty, Some {
     return value == null ? empty() : new Some<T>(value);
   }
 
+  /**
+   * Defers calling the supplier until the value is needed; a {@code null} result means an empty option.
+   */
+  static <T> Option<T> lazy(final Supplier<? extends T> supplier) {
+    Objects.requireNonNull(supplier, "supplier cannot be null!");
+    return new Lazy<>(() -> Option.<T>ofNullable(supplier.get()));
+  }
+
   boolean isPresent();
 
   void ifPresent(Consumer<? super T> consumer);
@@ -31,6 +42,12 @@ public sealed interface Option<T> permits Empty, Some {
 
   <U> Option<U> map(Function<? super T, ? extends U> mapper);
 
+  OptionInt mapToInt(ToIntFunction<? super T> mapper);
+
+  OptionLong mapToLong(ToLongFunction<? super T> mapper);
+
+  OptionDouble mapToDouble(ToDoubleFunction<? super T> mapper);
+
   T orElse(T defaultValue);
 
   T orElseGet(Supplier<? extends T> supplier);
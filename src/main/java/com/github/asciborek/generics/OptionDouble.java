@@ -0,0 +1,45 @@
+package com.github.asciborek.generics;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * {@link Option} specialized for {@code double}, so chains of {@code map}/{@code filter} do not box the value.
+ */
+public sealed interface OptionDouble permits EmptyDouble, SomeDouble {
+
+  static OptionDouble empty() {
+    return EmptyDouble.EMPTY_OPTION;
+  }
+
+  static OptionDouble ofValue(final double value) {
+    return new SomeDouble(value);
+  }
+
+  boolean isPresent();
+
+  void ifPresent(DoubleConsumer consumer);
+
+  OptionDouble filter(DoublePredicate filter);
+
+  OptionDouble map(DoubleUnaryOperator mapper);
+
+  OptionInt mapToInt(DoubleToIntFunction mapper);
+
+  OptionLong mapToLong(DoubleToLongFunction mapper);
+
+  <U> Option<U> mapToObj(DoubleFunction<? extends U> mapper);
+
+  double orElse(double defaultValue);
+
+  double orElseGet(DoubleSupplier supplier);
+
+  <X extends Throwable> double orElseThrow(Supplier<X> exception) throws X;
+
+}
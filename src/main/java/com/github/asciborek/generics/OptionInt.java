@@ -0,0 +1,45 @@
+package com.github.asciborek.generics;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * {@link Option} specialized for {@code int}, so chains of {@code map}/{@code filter} do not box the value.
+ */
+public sealed interface OptionInt permits EmptyInt, SomeInt {
+
+  static OptionInt empty() {
+    return EmptyInt.EMPTY_OPTION;
+  }
+
+  static OptionInt ofValue(final int value) {
+    return new SomeInt(value);
+  }
+
+  boolean isPresent();
+
+  void ifPresent(IntConsumer consumer);
+
+  OptionInt filter(IntPredicate filter);
+
+  OptionInt map(IntUnaryOperator mapper);
+
+  OptionLong mapToLong(IntToLongFunction mapper);
+
+  OptionDouble mapToDouble(IntToDoubleFunction mapper);
+
+  <U> Option<U> mapToObj(IntFunction<? extends U> mapper);
+
+  int orElse(int defaultValue);
+
+  int orElseGet(IntSupplier supplier);
+
+  <X extends Throwable> int orElseThrow(Supplier<X> exception) throws X;
+
+}
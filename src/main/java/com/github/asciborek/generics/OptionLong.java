@@ -0,0 +1,45 @@
+package com.github.asciborek.generics;
+
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * {@link Option} specialized for {@code long}, so chains of {@code map}/{@code filter} do not box the value.
+ */
+public sealed interface OptionLong permits EmptyLong, SomeLong {
+
+  static OptionLong empty() {
+    return EmptyLong.EMPTY_OPTION;
+  }
+
+  static OptionLong ofValue(final long value) {
+    return new SomeLong(value);
+  }
+
+  boolean isPresent();
+
+  void ifPresent(LongConsumer consumer);
+
+  OptionLong filter(LongPredicate filter);
+
+  OptionLong map(LongUnaryOperator mapper);
+
+  OptionInt mapToInt(LongToIntFunction mapper);
+
+  OptionDouble mapToDouble(LongToDoubleFunction mapper);
+
+  <U> Option<U> mapToObj(LongFunction<? extends U> mapper);
+
+  long orElse(long defaultValue);
+
+  long orElseGet(LongSupplier supplier);
+
+  <X extends Throwable> long orElseThrow(Supplier<X> exception) throws X;
+
+}
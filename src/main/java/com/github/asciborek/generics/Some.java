@@ -5,6 +5,9 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 public final class Some<T> implements Option<T> {
 
@@ -35,6 +38,21 @@ public final class Some<T> implements Option<T> {
     return new Some<>(mapper.apply(value));
   }
 
+  @Override
+  public OptionInt mapToInt(ToIntFunction<? super T> mapper) {
+    return new SomeInt(mapper.applyAsInt(value));
+  }
+
+  @Override
+  public OptionLong mapToLong(ToLongFunction<? super T> mapper) {
+    return new SomeLong(mapper.applyAsLong(value));
+  }
+
+  @Override
+  public OptionDouble mapToDouble(ToDoubleFunction<? super T> mapper) {
+    return new SomeDouble(mapper.applyAsDouble(value));
+  }
+
   public T get() {
     return value;
   }
@@ -64,6 +82,9 @@ public final class Some<T> implements Option<T> {
     if (this == obj) {
       return true;
     }
+    if (obj instanceof Lazy<?> lazy) {
+      return equals(lazy.evaluate());
+    }
     if (!(obj instanceof Some<?> other)) {
       return false;
     }
@@ -0,0 +1,90 @@
+package com.github.asciborek.generics;
+
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleSupplier;
+import java.util.function.DoubleToIntFunction;
+import java.util.function.DoubleToLongFunction;
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.Supplier;
+
+public final class SomeDouble implements OptionDouble {
+
+  private final double value;
+
+  SomeDouble(double value) {
+    this.value = value;
+  }
+
+  @Override
+  public boolean isPresent() {
+    return true;
+  }
+
+  @Override
+  public void ifPresent(DoubleConsumer consumer) {
+    consumer.accept(value);
+  }
+
+  @Override
+  public OptionDouble filter(DoublePredicate filter) {
+    return filter.test(value) ? this : OptionDouble.empty();
+  }
+
+  @Override
+  public OptionDouble map(DoubleUnaryOperator mapper) {
+    return new SomeDouble(mapper.applyAsDouble(value));
+  }
+
+  @Override
+  public OptionInt mapToInt(DoubleToIntFunction mapper) {
+    return new SomeInt(mapper.applyAsInt(value));
+  }
+
+  @Override
+  public OptionLong mapToLong(DoubleToLongFunction mapper) {
+    return new SomeLong(mapper.applyAsLong(value));
+  }
+
+  @Override
+  public <U> Option<U> mapToObj(DoubleFunction<? extends U> mapper) {
+    return Option.ofValue(mapper.apply(value));
+  }
+
+  public double get() {
+    return value;
+  }
+
+  @Override
+  public double orElse(double defaultValue) {
+    return value;
+  }
+
+  @Override
+  public double orElseGet(DoubleSupplier supplier) {
+    return value;
+  }
+
+  @Override
+  public <X extends Throwable> double orElseThrow(Supplier<X> exception) {
+    return value;
+  }
+
+  @Override
+  public int hashCode() {
+    return Double.hashCode(value);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof SomeDouble other)) {
+      return false;
+    }
+    return Double.compare(value, other.value) == 0;
+  }
+
+}
@@ -0,0 +1,90 @@
+package com.github.asciborek.generics;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntSupplier;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.IntToLongFunction;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+
+public final class SomeInt implements OptionInt {
+
+  private final int value;
+
+  SomeInt(int value) {
+    this.value = value;
+  }
+
+  @Override
+  public boolean isPresent() {
+    return true;
+  }
+
+  @Override
+  public void ifPresent(IntConsumer consumer) {
+    consumer.accept(value);
+  }
+
+  @Override
+  public OptionInt filter(IntPredicate filter) {
+    return filter.test(value) ? this : OptionInt.empty();
+  }
+
+  @Override
+  public OptionInt map(IntUnaryOperator mapper) {
+    return new SomeInt(mapper.applyAsInt(value));
+  }
+
+  @Override
+  public OptionLong mapToLong(IntToLongFunction mapper) {
+    return new SomeLong(mapper.applyAsLong(value));
+  }
+
+  @Override
+  public OptionDouble mapToDouble(IntToDoubleFunction mapper) {
+    return new SomeDouble(mapper.applyAsDouble(value));
+  }
+
+  @Override
+  public <U> Option<U> mapToObj(IntFunction<? extends U> mapper) {
+    return Option.ofValue(mapper.apply(value));
+  }
+
+  public int get() {
+    return value;
+  }
+
+  @Override
+  public int orElse(int defaultValue) {
+    return value;
+  }
+
+  @Override
+  public int orElseGet(IntSupplier supplier) {
+    return value;
+  }
+
+  @Override
+  public <X extends Throwable> int orElseThrow(Supplier<X> exception) {
+    return value;
+  }
+
+  @Override
+  public int hashCode() {
+    return Integer.hashCode(value);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof SomeInt other)) {
+      return false;
+    }
+    return value == other.value;
+  }
+
+}
@@ -0,0 +1,90 @@
+package com.github.asciborek.generics;
+
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongSupplier;
+import java.util.function.LongToDoubleFunction;
+import java.util.function.LongToIntFunction;
+import java.util.function.LongUnaryOperator;
+import java.util.function.Supplier;
+
+public final class SomeLong implements OptionLong {
+
+  private final long value;
+
+  SomeLong(long value) {
+    this.value = value;
+  }
+
+  @Override
+  public boolean isPresent() {
+    return true;
+  }
+
+  @Override
+  public void ifPresent(LongConsumer consumer) {
+    consumer.accept(value);
+  }
+
+  @Override
+  public OptionLong filter(LongPredicate filter) {
+    return filter.test(value) ? this : OptionLong.empty();
+  }
+
+  @Override
+  public OptionLong map(LongUnaryOperator mapper) {
+    return new SomeLong(mapper.applyAsLong(value));
+  }
+
+  @Override
+  public OptionInt mapToInt(LongToIntFunction mapper) {
+    return new SomeInt(mapper.applyAsInt(value));
+  }
+
+  @Override
+  public OptionDouble mapToDouble(LongToDoubleFunction mapper) {
+    return new SomeDouble(mapper.applyAsDouble(value));
+  }
+
+  @Override
+  public <U> Option<U> mapToObj(LongFunction<? extends U> mapper) {
+    return Option.ofValue(mapper.apply(value));
+  }
+
+  public long get() {
+    return value;
+  }
+
+  @Override
+  public long orElse(long defaultValue) {
+    return value;
+  }
+
+  @Override
+  public long orElseGet(LongSupplier supplier) {
+    return value;
+  }
+
+  @Override
+  public <X extends Throwable> long orElseThrow(Supplier<X> exception) {
+    return value;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(value);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof SomeLong other)) {
+      return false;
+    }
+    return value == other.value;
+  }
+
+}
@@ -0,0 +1,53 @@
+package com.github.asciborek.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named group of timers and counters, e.g. one per instrumented class. Components start disabled.
+ */
+public final class Component {
+
+  private final String name;
+  private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+  private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+  private volatile boolean enabled;
+
+  Component(String name) {
+    this.name = name;
+  }
+
+  public String name() {
+    return name;
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public void enable() {
+    enabled = true;
+  }
+
+  public void disable() {
+    enabled = false;
+  }
+
+  public Timer timer(String operation) {
+    return timers.computeIfAbsent(operation, _ -> new Timer(this));
+  }
+
+  public Counter counter(String operation) {
+    return counters.computeIfAbsent(operation, _ -> new Counter(this));
+  }
+
+  public ComponentSnapshot snapshot() {
+    Map<String, HistogramSnapshot> timerSnapshots = new TreeMap<>();
+    timers.forEach((operation, timer) -> timerSnapshots.put(operation, timer.snapshot()));
+    Map<String, Long> counterSnapshots = new TreeMap<>();
+    counters.forEach((operation, counter) -> counterSnapshots.put(operation, counter.count()));
+    return new ComponentSnapshot(name, enabled, timerSnapshots, counterSnapshots);
+  }
+
+}
@@ -0,0 +1,6 @@
+package com.github.asciborek.metrics;
+
+import java.util.Map;
+
+public record ComponentSnapshot(String name, boolean enabled, Map<String, HistogramSnapshot> timers,
+                                Map<String, Long> counters) {}
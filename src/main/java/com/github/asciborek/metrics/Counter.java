@@ -0,0 +1,31 @@
+package com.github.asciborek.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Operation counter that only counts while its {@link Component} is enabled.
+ */
+public final class Counter {
+
+  private final Component component;
+  private final LongAdder count = new LongAdder();
+
+  Counter(Component component) {
+    this.component = component;
+  }
+
+  public void increment() {
+    add(1);
+  }
+
+  public void add(long summand) {
+    if (component.isEnabled()) {
+      count.add(summand);
+    }
+  }
+
+  public long count() {
+    return count.sum();
+  }
+
+}
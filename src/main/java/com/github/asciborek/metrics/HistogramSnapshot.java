@@ -0,0 +1,6 @@
+package com.github.asciborek.metrics;
+
+/**
+ * Values are in the unit they were recorded in, nanoseconds for {@link Timer}s.
+ */
+public record HistogramSnapshot(long count, long p50, long p99, long p999, long max) {}
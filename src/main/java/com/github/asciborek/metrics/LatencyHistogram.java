@@ -0,0 +1,76 @@
+package com.github.asciborek.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, log-linear histogram of non-negative {@code long} values (nanoseconds in practice). Values below 32
+ * are counted exactly; above that every power of two is split into 16 buckets, so a reported quantile is at most
+ * 1/16 (6.25%) above the recorded value. Memory is fixed at 960 counters regardless of the number of records.
+ */
+public final class LatencyHistogram {
+
+  private static final int SUB_BUCKET_BITS = 5;
+  private static final int HALF_SUB_BUCKETS = 1 << (SUB_BUCKET_BITS - 1);
+  private static final int BUCKETS = bucketIndex(Long.MAX_VALUE) + 1;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final AtomicLong max = new AtomicLong();
+
+  public void record(long value) {
+    long clamped = Math.max(value, 0);
+    counts.incrementAndGet(bucketIndex(clamped));
+    long currentMax = max.get();
+    while (clamped > currentMax && !max.compareAndSet(currentMax, clamped)) {
+      currentMax = max.get();
+    }
+  }
+
+  /**
+   * Counts may be read while other threads record, so a snapshot is consistent per bucket, not across buckets.
+   */
+  public HistogramSnapshot snapshot() {
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+    for (int i = 0; i < BUCKETS; i++) {
+      snapshot[i] = counts.get(i);
+      count += snapshot[i];
+    }
+    long maxValue = max.get();
+    return new HistogramSnapshot(count, valueAt(snapshot, count, 0.5, maxValue), valueAt(snapshot, count, 0.99, maxValue),
+        valueAt(snapshot, count, 0.999, maxValue), maxValue);
+  }
+
+  private static long valueAt(long[] counts, long total, double quantile, long max) {
+    if (total == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(quantile * total));
+    long seen = 0;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= rank) {
+        return Math.min(highestValueIn(i), max);
+      }
+    }
+    return max;
+  }
+
+  static int bucketIndex(long value) {
+    if (value < (1 << SUB_BUCKET_BITS)) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+    return shift * HALF_SUB_BUCKETS + (int) (value >>> shift);
+  }
+
+  static long highestValueIn(int bucket) {
+    if (bucket < (1 << SUB_BUCKET_BITS)) {
+      return bucket;
+    }
+    int shift = bucket / HALF_SUB_BUCKETS - 1;
+    long lowest = (long) (bucket - shift * HALF_SUB_BUCKETS) << shift;
+    return lowest + (1L << shift) - 1;
+  }
+
+}
@@ -0,0 +1,40 @@
+package com.github.asciborek.metrics;
+
+/**
+ * Records operation latencies into a {@link LatencyHistogram} when its {@link Component} is enabled:
+ * <pre>{@code
+ * long start = timer.start();
+ * try {
+ *   ...
+ * } finally {
+ *   timer.stop(start);
+ * }
+ * }</pre>
+ * When the component is disabled both calls cost a single volatile read and the clock is not read.
+ */
+public final class Timer {
+
+  private static final long DISABLED = Long.MIN_VALUE;
+
+  private final Component component;
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  Timer(Component component) {
+    this.component = component;
+  }
+
+  public long start() {
+    return component.isEnabled() ? System.nanoTime() : DISABLED;
+  }
+
+  public void stop(long start) {
+    if (start != DISABLED) {
+      histogram.record(System.nanoTime() - start);
+    }
+  }
+
+  public HistogramSnapshot snapshot() {
+    return histogram.snapshot();
+  }
+
+}
@@ -0,0 +1,99 @@
+package com.github.asciborek.stream;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * One-pass count, sum, min, max, mean and variance of {@link BigDecimal}s. The sum and the sum of squares are
+ * exact, so the variance {@code (n * sum(x^2) - sum(x)^2) / (n * (n - 1))} has no cancellation error and combining
+ * partial statistics is exact too; only the final divisions are rounded with the given {@link MathContext}. Not
+ * thread-safe; combine per-thread instances instead.
+ */
+public final class BigDecimalStatistics implements Consumer<BigDecimal> {
+  private long count;
+  private BigDecimal sum = BigDecimal.ZERO;
+  private BigDecimal sumOfSquares = BigDecimal.ZERO;
+  private BigDecimal min;
+  private BigDecimal max;
+
+  @Override
+  public void accept(BigDecimal value) {
+    count++;
+    sum = sum.add(value);
+    sumOfSquares = sumOfSquares.add(value.multiply(value));
+    min = min == null || value.compareTo(min) < 0 ? value : min;
+    max = max == null || value.compareTo(max) > 0 ? value : max;
+  }
+
+  public BigDecimalStatistics combine(BigDecimalStatistics other) {
+    if (other.count == 0) {
+      return this;
+    }
+    count += other.count;
+    sum = sum.add(other.sum);
+    sumOfSquares = sumOfSquares.add(other.sumOfSquares);
+    min = min == null || other.min.compareTo(min) < 0 ? other.min : min;
+    max = max == null || other.max.compareTo(max) > 0 ? other.max : max;
+    return this;
+  }
+
+  public long count() {
+    return count;
+  }
+
+  public BigDecimal sum() {
+    return sum;
+  }
+
+  public Optional<BigDecimal> min() {
+    return Optional.ofNullable(min);
+  }
+
+  public Optional<BigDecimal> max() {
+    return Optional.ofNullable(max);
+  }
+
+  public Optional<BigDecimal> mean(MathContext mathContext) {
+    if (count == 0) {
+      return Optional.empty();
+    }
+    return Optional.of(sum.divide(BigDecimal.valueOf(count), mathContext));
+  }
+
+  /**
+   * Sample variance, empty for fewer than two values.
+   */
+  public Optional<BigDecimal> variance(MathContext mathContext) {
+    if (count < 2) {
+      return Optional.empty();
+    }
+    BigDecimal n = BigDecimal.valueOf(count);
+    return Optional.of(squaredDeviations().divide(n.multiply(n.subtract(BigDecimal.ONE)), mathContext));
+  }
+
+  public Optional<BigDecimal> populationVariance(MathContext mathContext) {
+    if (count == 0) {
+      return Optional.empty();
+    }
+    BigDecimal n = BigDecimal.valueOf(count);
+    return Optional.of(squaredDeviations().divide(n.multiply(n), mathContext));
+  }
+
+  public Optional<BigDecimal> standardDeviation(MathContext mathContext) {
+    return variance(mathContext).map(variance -> variance.sqrt(mathContext));
+  }
+
+  /**
+   * {@code n} times the sum of squared deviations from the mean, computed exactly.
+   */
+  private BigDecimal squaredDeviations() {
+    return sumOfSquares.multiply(BigDecimal.valueOf(count)).subtract(sum.multiply(sum));
+  }
+
+  @Override
+  public String toString() {
+    return "BigDecimalStatistics[count=%d, sum=%s, min=%s, max=%s]".formatted(count, sum, min, max);
+  }
+}
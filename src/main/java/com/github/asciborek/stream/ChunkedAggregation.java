@@ -0,0 +1,74 @@
+package com.github.asciborek.stream;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Fork/join aggregation of a random-access list: ranges are halved until they are at most {@code chunkSize} long,
+ * each chunk is folded into its own accumulator, and accumulators are combined pairwise up the same tree. Unlike a
+ * {@code toMap} collector there is no hash map per split, and the chunk size is tuned to the pool's parallelism
+ * rather than to the common pool's.
+ */
+final class ChunkedAggregation<T, A> extends RecursiveTask<A> {
+
+  static final int MIN_CHUNK_SIZE = 1 << 13;
+  /**
+   * More chunks than workers, so that workers finishing early can steal the rest.
+   */
+  static final int CHUNKS_PER_WORKER = 4;
+
+  private final List<? extends T> elements;
+  private final int from;
+  private final int to;
+  private final int chunkSize;
+  private final Supplier<A> supplier;
+  private final BiConsumer<A, ? super T> accumulator;
+  private final BinaryOperator<A> combiner;
+
+  private ChunkedAggregation(List<? extends T> elements, int from, int to, int chunkSize, Supplier<A> supplier,
+      BiConsumer<A, ? super T> accumulator, BinaryOperator<A> combiner) {
+    this.elements = elements;
+    this.from = from;
+    this.to = to;
+    this.chunkSize = chunkSize;
+    this.supplier = supplier;
+    this.accumulator = accumulator;
+    this.combiner = combiner;
+  }
+
+  static <T, A> A invoke(Collection<? extends T> elements, ForkJoinPool pool, Supplier<A> supplier,
+      BiConsumer<A, ? super T> accumulator, BinaryOperator<A> combiner) {
+    List<? extends T> list = elements instanceof RandomAccess && elements instanceof List<? extends T> randomAccess
+        ? randomAccess
+        : List.copyOf(elements);
+    int chunkSize = chunkSize(list.size(), pool.getParallelism());
+    return pool.invoke(new ChunkedAggregation<>(list, 0, list.size(), chunkSize, supplier, accumulator, combiner));
+  }
+
+  static int chunkSize(int size, int parallelism) {
+    return Math.max(MIN_CHUNK_SIZE, size / (parallelism * CHUNKS_PER_WORKER));
+  }
+
+  @Override
+  protected A compute() {
+    if (to - from <= chunkSize) {
+      A result = supplier.get();
+      for (int i = from; i < to; i++) {
+        accumulator.accept(result, elements.get(i));
+      }
+      return result;
+    }
+    int middle = (from + to) >>> 1;
+    ChunkedAggregation<T, A> left = new ChunkedAggregation<>(elements, from, middle, chunkSize, supplier, accumulator, combiner);
+    left.fork();
+    A right = new ChunkedAggregation<>(elements, middle, to, chunkSize, supplier, accumulator, combiner).compute();
+    return combiner.apply(left.join(), right);
+  }
+
+}
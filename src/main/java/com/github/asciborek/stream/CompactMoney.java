@@ -0,0 +1,59 @@
+package com.github.asciborek.stream;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Fixed-point counterpart of {@link Money}: the amount is kept as a {@code long} number of minor units
+ * ({@link Currency#scale()} decimal places), so arithmetic and aggregation do not allocate. All arithmetic is
+ * overflow-checked and throws {@link ArithmeticException} instead of wrapping.
+ */
+public record CompactMoney(long minorUnits, Currency currency) {
+
+  public CompactMoney {
+    Objects.requireNonNull(currency, "currency cannot be null");
+  }
+
+  /**
+   * @throws ArithmeticException if the amount has more decimal places than the currency's minor unit or
+   *     does not fit into a {@code long}
+   */
+  public static CompactMoney of(Money money) {
+    Currency currency = money.currency();
+    long minorUnits = money.amount().movePointRight(currency.scale()).longValueExact();
+    return new CompactMoney(minorUnits, currency);
+  }
+
+  public static CompactMoney of(String amount, Currency currency) {
+    return of(Money.of(amount, currency));
+  }
+
+  /**
+   * The returned amount always has the currency's scale, so it is {@code compareTo}-equal (but not necessarily
+   * {@code equals}) to the amount this instance was created from.
+   */
+  public Money toMoney() {
+    return new Money(amount(), currency);
+  }
+
+  public BigDecimal amount() {
+    return BigDecimal.valueOf(minorUnits, currency.scale());
+  }
+
+  public CompactMoney add(CompactMoney other) {
+    requireSameCurrency(other);
+    return new CompactMoney(Math.addExact(minorUnits, other.minorUnits), currency);
+  }
+
+  public CompactMoney subtract(CompactMoney other) {
+    requireSameCurrency(other);
+    return new CompactMoney(Math.subtractExact(minorUnits, other.minorUnits), currency);
+  }
+
+  private void requireSameCurrency(CompactMoney other) {
+    if (currency != other.currency) {
+      throw new IllegalArgumentException("currency mismatch: " + currency + " and " + other.currency);
+    }
+  }
+
+}
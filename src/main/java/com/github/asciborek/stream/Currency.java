@@ -1,5 +1,18 @@
 package com.github.asciborek.stream;
 
 public enum Currency {
-  PLN, EURO, USD, GBP
+  PLN(2), EURO(2), USD(2), GBP(2);
+
+  private final int scale;
+
+  Currency(int scale) {
+    this.scale = scale;
+  }
+
+  /**
+   * Number of decimal places of the currency's minor unit, e.g. 2 for cents.
+   */
+  public int scale() {
+    return scale;
+  }
 }
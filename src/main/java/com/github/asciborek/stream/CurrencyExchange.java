@@ -0,0 +1,48 @@
+package com.github.asciborek.stream;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * Holds the current {@link ExchangeRates} snapshot. Updates publish a whole new snapshot atomically, so readers
+ * never lock and every conversion within one call uses a consistent set of rates.
+ */
+public final class CurrencyExchange {
+
+  private final AtomicReference<ExchangeRates> rates;
+
+  public CurrencyExchange() {
+    this(ExchangeRates.empty());
+  }
+
+  public CurrencyExchange(ExchangeRates rates) {
+    this.rates = new AtomicReference<>(rates);
+  }
+
+  public ExchangeRates snapshot() {
+    return rates.get();
+  }
+
+  public void publish(ExchangeRates snapshot) {
+    rates.set(snapshot);
+  }
+
+  public void updateRate(Currency from, Currency to, BigDecimal rate) {
+    update(current -> current.withRate(from, to, rate));
+  }
+
+  public void update(UnaryOperator<ExchangeRates> update) {
+    rates.updateAndGet(update);
+  }
+
+  public Money convert(Money money, Currency to) {
+    return snapshot().convert(money, to);
+  }
+
+  public BigDecimal sumInCurrency(Collection<Money> monies, Currency to) {
+    return snapshot().sumInCurrency(monies, to);
+  }
+
+}
@@ -0,0 +1,16 @@
+package com.github.asciborek.stream;
+
+/**
+ * Aggregates a range of a minor-unit amount column grouped by a parallel column of {@link Currency} ordinals.
+ */
+interface CurrencyKernel {
+
+  /**
+   * Adds {@code amounts[from..to)} to {@code totals}. {@code totals} is left unchanged if an exception is thrown.
+   * Sums do not overflow here; {@link MinorUnitTotals#sumByCurrency()} reports a final sum that does not fit.
+   *
+   * @throws IllegalArgumentException if a currency ordinal is out of range
+   */
+  void accumulate(long[] amounts, byte[] currencies, int from, int to, MinorUnitTotals totals);
+
+}
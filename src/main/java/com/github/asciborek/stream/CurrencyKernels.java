@@ -0,0 +1,58 @@
+package com.github.asciborek.stream;
+
+import java.util.Map;
+
+/**
+ * Per-currency sum/max/min over a column of minor-unit amounts and a parallel column of {@link Currency#ordinal()}
+ * bytes, e.g. the columns of {@link CompactMoney} values. Uses SIMD kernels built on the Vector API when the JVM
+ * runs with {@code --add-modules jdk.incubator.vector}, and a scalar loop otherwise; both give identical results.
+ */
+public final class CurrencyKernels {
+
+  private static final CurrencyKernel KERNEL =
+      selectKernel(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent());
+
+  private CurrencyKernels() {}
+
+  public static boolean isVectorized() {
+    return !(KERNEL instanceof ScalarCurrencyKernel);
+  }
+
+  /**
+   * @throws IllegalArgumentException if the arrays differ in length or a currency ordinal is out of range
+   * @throws ArithmeticException if a sum does not fit in a {@code long}; intermediate overflows that cancel out are
+   *     fine
+   */
+  public static Map<Currency, CompactMoney> sumByCurrency(long[] amounts, byte[] currencies) {
+    return totals(amounts, currencies).sumByCurrency();
+  }
+
+  public static Map<Currency, CompactMoney> maxByCurrency(long[] amounts, byte[] currencies) {
+    return totals(amounts, currencies).maxByCurrency();
+  }
+
+  public static Map<Currency, CompactMoney> minByCurrency(long[] amounts, byte[] currencies) {
+    return totals(amounts, currencies).minByCurrency();
+  }
+
+  static MinorUnitTotals totals(long[] amounts, byte[] currencies) {
+    if (amounts.length != currencies.length) {
+      throw new IllegalArgumentException("amounts and currencies must have the same length");
+    }
+    MinorUnitTotals totals = new MinorUnitTotals();
+    KERNEL.accumulate(amounts, currencies, 0, amounts.length, totals);
+    return totals;
+  }
+
+  static CurrencyKernel selectKernel(boolean vectorModulePresent) {
+    if (!vectorModulePresent) {
+      return new ScalarCurrencyKernel();
+    }
+    try {
+      return new VectorCurrencyKernel();
+    } catch (LinkageError e) {
+      return new ScalarCurrencyKernel();
+    }
+  }
+
+}
@@ -0,0 +1,15 @@
+package com.github.asciborek.stream;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+public record CurrencyStatistics(Currency currency, long count, BigDecimal sum, BigDecimal min, BigDecimal max) {
+
+  /**
+   * Rounded the same way as {@link StreamUtils#average}: ceiling, at the scale of the sum.
+   */
+  public BigDecimal average() {
+    return sum.divide(BigDecimal.valueOf(count), RoundingMode.CEILING);
+  }
+
+}
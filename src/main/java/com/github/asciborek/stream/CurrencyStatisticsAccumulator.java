@@ -0,0 +1,61 @@
+package com.github.asciborek.stream;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Mutable container behind {@link MoneyUtil#statisticsByCurrency()}. State lives in arrays indexed by
+ * {@link Currency#ordinal()}, so combining two partial results costs one pass over the currencies.
+ */
+final class CurrencyStatisticsAccumulator {
+
+  private static final Currency[] CURRENCIES = Currency.values();
+
+  private final BigDecimal[] sums = new BigDecimal[CURRENCIES.length];
+  private final BigDecimal[] mins = new BigDecimal[CURRENCIES.length];
+  private final BigDecimal[] maxes = new BigDecimal[CURRENCIES.length];
+  private final long[] counts = new long[CURRENCIES.length];
+
+  void accept(Money money) {
+    add(money.currency().ordinal(), money.amount(), money.amount(), money.amount(), 1);
+  }
+
+  CurrencyStatisticsAccumulator combine(CurrencyStatisticsAccumulator other) {
+    for (int i = 0; i < CURRENCIES.length; i++) {
+      if (other.counts[i] > 0) {
+        add(i, other.sums[i], other.mins[i], other.maxes[i], other.counts[i]);
+      }
+    }
+    return this;
+  }
+
+  private void add(int ordinal, BigDecimal sum, BigDecimal min, BigDecimal max, long count) {
+    if (counts[ordinal] == 0) {
+      sums[ordinal] = sum;
+      mins[ordinal] = min;
+      maxes[ordinal] = max;
+    } else {
+      sums[ordinal] = sums[ordinal].add(sum);
+      if (min.compareTo(mins[ordinal]) < 0) {
+        mins[ordinal] = min;
+      }
+      if (max.compareTo(maxes[ordinal]) > 0) {
+        maxes[ordinal] = max;
+      }
+    }
+    counts[ordinal] += count;
+  }
+
+  Map<Currency, CurrencyStatistics> toStatistics() {
+    Map<Currency, CurrencyStatistics> statistics = new EnumMap<>(Currency.class);
+    for (Currency currency : CURRENCIES) {
+      int i = currency.ordinal();
+      if (counts[i] > 0) {
+        statistics.put(currency, new CurrencyStatistics(currency, counts[i], sums[i], mins[i], maxes[i]));
+      }
+    }
+    return statistics;
+  }
+
+}
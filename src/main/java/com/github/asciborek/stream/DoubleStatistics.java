@@ -0,0 +1,85 @@
+package com.github.asciborek.stream;
+
+import java.util.OptionalDouble;
+import java.util.function.DoubleConsumer;
+
+/**
+ * One-pass count, sum, min, max, mean and variance of {@code double}s. The sum is Kahan-compensated like
+ * {@link java.util.DoubleSummaryStatistics}; the mean and variance use Welford's method, so the variance does not
+ * suffer from the cancellation of the textbook {@code E[x^2] - E[x]^2} formula. Not thread-safe; combine
+ * per-thread instances instead.
+ */
+public final class DoubleStatistics implements DoubleConsumer {
+  private final Moments moments = new Moments();
+  private double sum;
+  private double compensation;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  @Override
+  public void accept(double value) {
+    moments.accept(value);
+    addToSum(value);
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+  }
+
+  public DoubleStatistics combine(DoubleStatistics other) {
+    moments.combine(other.moments);
+    addToSum(other.sum);
+    addToSum(-other.compensation);
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    return this;
+  }
+
+  private void addToSum(double value) {
+    double corrected = value - compensation;
+    double result = sum + corrected;
+    compensation = (result - sum) - corrected;
+    sum = result;
+  }
+
+  public long count() {
+    return moments.count();
+  }
+
+  public double sum() {
+    double compensated = sum - compensation;
+    return Double.isNaN(compensated) ? sum : compensated;
+  }
+
+  public OptionalDouble min() {
+    return count() == 0 ? OptionalDouble.empty() : OptionalDouble.of(min);
+  }
+
+  public OptionalDouble max() {
+    return count() == 0 ? OptionalDouble.empty() : OptionalDouble.of(max);
+  }
+
+  public OptionalDouble mean() {
+    return moments.mean();
+  }
+
+  /**
+   * Sample variance, empty for fewer than two values.
+   */
+  public OptionalDouble variance() {
+    return moments.variance();
+  }
+
+  public OptionalDouble populationVariance() {
+    return moments.populationVariance();
+  }
+
+  public OptionalDouble standardDeviation() {
+    OptionalDouble variance = variance();
+    return variance.isPresent() ? OptionalDouble.of(Math.sqrt(variance.getAsDouble())) : OptionalDouble.empty();
+  }
+
+  @Override
+  public String toString() {
+    return "DoubleStatistics[count=%d, min=%s, max=%s, mean=%s, variance=%s]"
+        .formatted(count(), min(), max(), mean(), variance());
+  }
+}
@@ -0,0 +1,115 @@
+package com.github.asciborek.stream;
+
+import com.github.asciborek.generics.Option;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of exchange rates, stored as a dense matrix indexed by {@link Currency#ordinal()}. Only the
+ * quoted rates are given; identities, inverses and cross rates are derived once when the snapshot is built, so a
+ * lookup is a single array read.
+ */
+public final class ExchangeRates {
+
+  private static final Currency[] CURRENCIES = Currency.values();
+  private static final int SIZE = CURRENCIES.length;
+  private static final MathContext PRECISION = MathContext.DECIMAL64;
+  private static final ExchangeRates EMPTY = new ExchangeRates(new BigDecimal[SIZE * SIZE]);
+
+  private final BigDecimal[] quoted;
+  private final BigDecimal[] rates;
+
+  private ExchangeRates(BigDecimal[] quoted) {
+    this.quoted = quoted;
+    this.rates = derive(quoted);
+  }
+
+  public static ExchangeRates empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns a new snapshot in which one {@code from} is worth {@code rate} of {@code to}.
+   */
+  public ExchangeRates withRate(Currency from, Currency to, BigDecimal rate) {
+    Objects.requireNonNull(rate, "rate cannot be null");
+    if (from == to) {
+      throw new IllegalArgumentException("cannot quote " + from + " against itself");
+    }
+    if (rate.signum() <= 0) {
+      throw new IllegalArgumentException("rate must be positive");
+    }
+    BigDecimal[] newQuoted = Arrays.copyOf(quoted, quoted.length);
+    newQuoted[index(from, to)] = rate;
+    newQuoted[index(to, from)] = null;
+    return new ExchangeRates(newQuoted);
+  }
+
+  public Option<BigDecimal> rate(Currency from, Currency to) {
+    return Option.ofNullable(rates[index(from, to)]);
+  }
+
+  public Money convert(Money money, Currency to) {
+    return new Money(money.amount().multiply(requireRate(money.currency().ordinal(), to)), to);
+  }
+
+  /**
+   * Sums the amounts per currency first and converts each partial sum once, so the cost per element is a single
+   * exact addition. The result is not rounded.
+   */
+  public BigDecimal sumInCurrency(Collection<Money> monies, Currency to) {
+    BigDecimal[] sums = new BigDecimal[SIZE];
+    for (Money money : monies) {
+      int ordinal = money.currency().ordinal();
+      sums[ordinal] = sums[ordinal] == null ? money.amount() : sums[ordinal].add(money.amount());
+    }
+    BigDecimal total = BigDecimal.ZERO;
+    for (int from = 0; from < SIZE; from++) {
+      if (sums[from] != null) {
+        total = total.add(sums[from].multiply(requireRate(from, to)));
+      }
+    }
+    return total;
+  }
+
+  private BigDecimal requireRate(int from, Currency to) {
+    BigDecimal rate = rates[from * SIZE + to.ordinal()];
+    if (rate == null) {
+      throw new IllegalArgumentException("no exchange rate from " + CURRENCIES[from] + " to " + to);
+    }
+    return rate;
+  }
+
+  private static BigDecimal[] derive(BigDecimal[] quoted) {
+    BigDecimal[] rates = Arrays.copyOf(quoted, quoted.length);
+    for (int from = 0; from < SIZE; from++) {
+      rates[from * SIZE + from] = BigDecimal.ONE;
+      for (int to = 0; to < SIZE; to++) {
+        BigDecimal inverse = quoted[to * SIZE + from];
+        if (rates[from * SIZE + to] == null && inverse != null) {
+          rates[from * SIZE + to] = BigDecimal.ONE.divide(inverse, PRECISION);
+        }
+      }
+    }
+    for (int via = 0; via < SIZE; via++) {
+      for (int from = 0; from < SIZE; from++) {
+        for (int to = 0; to < SIZE; to++) {
+          BigDecimal first = rates[from * SIZE + via];
+          BigDecimal second = rates[via * SIZE + to];
+          if (rates[from * SIZE + to] == null && first != null && second != null) {
+            rates[from * SIZE + to] = first.multiply(second, PRECISION);
+          }
+        }
+      }
+    }
+    return rates;
+  }
+
+  private static int index(Currency from, Currency to) {
+    return from.ordinal() * SIZE + to.ordinal();
+  }
+
+}
@@ -0,0 +1,80 @@
+package com.github.asciborek.stream;
+
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.function.LongConsumer;
+
+/**
+ * One-pass count, sum, min, max, mean and variance of {@code long}s. Unlike {@link java.util.LongSummaryStatistics}
+ * the sum never silently overflows: it is kept in 128 bits and {@link #sum()} throws {@link ArithmeticException}
+ * only if the final value does not fit in a {@code long}, whatever the intermediate sums or the split of a
+ * parallel stream were. The mean and variance are computed in {@code double}s. Not thread-safe; combine
+ * per-thread instances instead.
+ */
+public final class LongStatistics implements LongConsumer {
+  private final Moments moments = new Moments();
+  private final LongSum128 sum = new LongSum128();
+  private long min = Long.MAX_VALUE;
+  private long max = Long.MIN_VALUE;
+
+  @Override
+  public void accept(long value) {
+    moments.accept(value);
+    sum.add(value);
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+  }
+
+  public LongStatistics combine(LongStatistics other) {
+    moments.combine(other.moments);
+    sum.add(other.sum);
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    return this;
+  }
+
+  public long count() {
+    return moments.count();
+  }
+
+  /**
+   * @throws ArithmeticException if the sum does not fit in a {@code long}
+   */
+  public long sum() {
+    return sum.longValueExact();
+  }
+
+  public OptionalLong min() {
+    return count() == 0 ? OptionalLong.empty() : OptionalLong.of(min);
+  }
+
+  public OptionalLong max() {
+    return count() == 0 ? OptionalLong.empty() : OptionalLong.of(max);
+  }
+
+  public OptionalDouble mean() {
+    return moments.mean();
+  }
+
+  /**
+   * Sample variance, empty for fewer than two values.
+   */
+  public OptionalDouble variance() {
+    return moments.variance();
+  }
+
+  public OptionalDouble populationVariance() {
+    return moments.populationVariance();
+  }
+
+  public OptionalDouble standardDeviation() {
+    OptionalDouble variance = variance();
+    return variance.isPresent() ? OptionalDouble.of(Math.sqrt(variance.getAsDouble())) : OptionalDouble.empty();
+  }
+
+  @Override
+  public String toString() {
+    return "LongStatistics[count=%d, min=%s, max=%s, mean=%s, variance=%s]"
+        .formatted(count(), min(), max(), mean(), variance());
+  }
+}
@@ -0,0 +1,49 @@
+package com.github.asciborek.stream;
+
+import java.math.BigInteger;
+
+/**
+ * Mutable sum of {@code long}s kept in 128 bits (two's complement high and low words), so it cannot overflow for
+ * fewer than 2^64 summands and the result does not depend on the order of the additions. Not thread-safe.
+ */
+final class LongSum128 {
+
+  private static final BigInteger UNSIGNED_LONG_MASK = BigInteger.ONE.shiftLeft(Long.SIZE).subtract(BigInteger.ONE);
+
+  private long high;
+  private long low;
+
+  void add(long value) {
+    add(value >> 63, value);
+  }
+
+  void add(LongSum128 other) {
+    add(other.high, other.low);
+  }
+
+  private void add(long otherHigh, long otherLow) {
+    long sum = low + otherLow;
+    long carry = Long.compareUnsigned(sum, low) < 0 ? 1 : 0;
+    low = sum;
+    high += otherHigh + carry;
+  }
+
+  boolean fitsInLong() {
+    return high == low >> 63;
+  }
+
+  /**
+   * @throws ArithmeticException if the sum does not fit in a {@code long}
+   */
+  long longValueExact() {
+    if (!fitsInLong()) {
+      throw new ArithmeticException("long overflow");
+    }
+    return low;
+  }
+
+  BigInteger toBigInteger() {
+    return BigInteger.valueOf(high).shiftLeft(Long.SIZE).add(BigInteger.valueOf(low).and(UNSIGNED_LONG_MASK));
+  }
+
+}
@@ -0,0 +1,70 @@
+package com.github.asciborek.stream;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Mutable per-currency sum/min/max/count of minor-unit amounts, indexed by {@link Currency#ordinal()}. Sums are
+ * kept in 128 bits, so whether a sum overflows depends only on its final value, not on the order or grouping of
+ * the additions; it is reported when the sums are read.
+ */
+final class MinorUnitTotals {
+
+  private static final Currency[] CURRENCIES = Currency.values();
+
+  final LongSum128[] sums = new LongSum128[CURRENCIES.length];
+  final long[] maxes = new long[CURRENCIES.length];
+  final long[] mins = new long[CURRENCIES.length];
+  final long[] counts = new long[CURRENCIES.length];
+
+  MinorUnitTotals() {
+    Arrays.setAll(sums, _ -> new LongSum128());
+    Arrays.fill(maxes, Long.MIN_VALUE);
+    Arrays.fill(mins, Long.MAX_VALUE);
+  }
+
+  void add(int ordinal, long minorUnits) {
+    sums[ordinal].add(minorUnits);
+    maxes[ordinal] = Math.max(maxes[ordinal], minorUnits);
+    mins[ordinal] = Math.min(mins[ordinal], minorUnits);
+    counts[ordinal]++;
+  }
+
+  MinorUnitTotals merge(MinorUnitTotals other) {
+    for (int i = 0; i < CURRENCIES.length; i++) {
+      sums[i].add(other.sums[i]);
+      maxes[i] = Math.max(maxes[i], other.maxes[i]);
+      mins[i] = Math.min(mins[i], other.mins[i]);
+      counts[i] += other.counts[i];
+    }
+    return this;
+  }
+
+  /**
+   * @throws ArithmeticException if a sum does not fit in a {@code long}
+   */
+  Map<Currency, CompactMoney> sumByCurrency() {
+    return toMap(ordinal -> sums[ordinal].longValueExact());
+  }
+
+  Map<Currency, CompactMoney> maxByCurrency() {
+    return toMap(ordinal -> maxes[ordinal]);
+  }
+
+  Map<Currency, CompactMoney> minByCurrency() {
+    return toMap(ordinal -> mins[ordinal]);
+  }
+
+  private Map<Currency, CompactMoney> toMap(IntToLongFunction values) {
+    Map<Currency, CompactMoney> result = new EnumMap<>(Currency.class);
+    for (Currency currency : CURRENCIES) {
+      if (counts[currency.ordinal()] > 0) {
+        result.put(currency, new CompactMoney(values.applyAsLong(currency.ordinal()), currency));
+      }
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,53 @@
+package com.github.asciborek.stream;
+
+import java.util.OptionalDouble;
+
+/**
+ * Running count, mean and sum of squared deviations, updated with Welford's method and combined with Chan's
+ * formula, so the variance stays accurate even when it is tiny compared to the mean.
+ */
+final class Moments {
+  private long count;
+  private double mean;
+  private double m2;
+
+  void accept(double value) {
+    count++;
+    double delta = value - mean;
+    mean += delta / count;
+    m2 += delta * (value - mean);
+  }
+
+  void combine(Moments other) {
+    if (other.count == 0) {
+      return;
+    }
+    if (count == 0) {
+      count = other.count;
+      mean = other.mean;
+      m2 = other.m2;
+      return;
+    }
+    long total = count + other.count;
+    double delta = other.mean - mean;
+    mean += delta * other.count / total;
+    m2 += other.m2 + delta * delta * ((double) count * other.count / total);
+    count = total;
+  }
+
+  long count() {
+    return count;
+  }
+
+  OptionalDouble mean() {
+    return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(mean);
+  }
+
+  OptionalDouble variance() {
+    return count < 2 ? OptionalDouble.empty() : OptionalDouble.of(m2 / (count - 1));
+  }
+
+  OptionalDouble populationVariance() {
+    return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(m2 / count);
+  }
+}
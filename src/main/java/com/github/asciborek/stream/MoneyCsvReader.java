@@ -0,0 +1,319 @@
+package com.github.asciborek.stream;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads {@code amount,currency} lines (e.g. {@code -12.50,PLN}) straight from a memory-mapped file or a
+ * {@link ByteBuffer}. Amounts and currency codes are parsed from the bytes in place, so no {@code String} is created
+ * per line; {@link #forEach} and the aggregations do not allocate per line at all.
+ *
+ * <p>The input is processed in line-aligned splits: {@link #stream()} is splittable for parallel streams and the
+ * aggregations scan {@value #CHUNK_SIZE}-byte chunks in parallel, so files larger than the heap (or than 2 GB) can be
+ * processed. Lines may end with {@code \n} or {@code \r\n}; blank lines are skipped. Amounts are plain decimals with
+ * an optional sign and must fit into a {@code long} when the decimal point is removed. A malformed line fails with
+ * {@link IllegalArgumentException} naming its byte offset.
+ */
+public final class MoneyCsvReader implements AutoCloseable {
+
+  static final long CHUNK_SIZE = 8 << 20;
+
+  private static final Currency[] CURRENCIES = Currency.values();
+  private static final byte[][] CODES = new byte[CURRENCIES.length][];
+  private static final long[] POWERS_OF_TEN = new long[19];
+  private static final int MIN_SPLIT_SIZE = 1 << 16;
+
+  static {
+    for (Currency currency : CURRENCIES) {
+      CODES[currency.ordinal()] = currency.name().getBytes(StandardCharsets.US_ASCII);
+    }
+    POWERS_OF_TEN[0] = 1;
+    for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+      POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+    }
+  }
+
+  /**
+   * Receives each parsed amount in the currency's minor units.
+   */
+  @FunctionalInterface
+  public interface MinorUnitsConsumer {
+    void accept(Currency currency, long minorUnits);
+  }
+
+  private final Arena arena;
+  private final MemorySegment data;
+
+  private MoneyCsvReader(Arena arena, MemorySegment data) {
+    this.arena = arena;
+    this.data = data;
+  }
+
+  public static MoneyCsvReader open(Path path) throws IOException {
+    Arena arena = Arena.ofShared();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      return new MoneyCsvReader(arena, channel.map(MapMode.READ_ONLY, 0, channel.size(), arena));
+    } catch (IOException | RuntimeException e) {
+      arena.close();
+      throw e;
+    }
+  }
+
+  /**
+   * Reads the remaining bytes of the buffer without copying them. The buffer must not be modified while in use.
+   */
+  public static MoneyCsvReader of(ByteBuffer buffer) {
+    return new MoneyCsvReader(null, MemorySegment.ofBuffer(buffer));
+  }
+
+  /**
+   * Lines as {@link Money}, with the amount's scale as written (equal to {@link Money#of(String, Currency)}).
+   */
+  public Stream<Money> stream() {
+    return StreamSupport.stream(new MoneySpliterator(new Cursor(data, 0, data.byteSize())), false);
+  }
+
+  /**
+   * Feeds every line, in order, to the consumer without creating objects.
+   *
+   * @throws ArithmeticException if an amount has more decimal places than its currency's minor unit
+   */
+  public void forEach(MinorUnitsConsumer consumer) {
+    Cursor cursor = new Cursor(data, 0, data.byteSize());
+    while (cursor.next()) {
+      consumer.accept(cursor.currency, cursor.minorUnits());
+    }
+  }
+
+  /**
+   * @throws ArithmeticException if an amount has more decimal places than its currency's minor unit or a sum
+   *     does not fit in a {@code long}
+   */
+  public Map<Currency, CompactMoney> sumByCurrency() {
+    return totals(CHUNK_SIZE).sumByCurrency();
+  }
+
+  public Map<Currency, CompactMoney> maxByCurrency() {
+    return totals(CHUNK_SIZE).maxByCurrency();
+  }
+
+  MinorUnitTotals totals(long chunkSize) {
+    long size = data.byteSize();
+    long chunks = Math.max(1, (size + chunkSize - 1) / chunkSize);
+    return LongStream.range(0, chunks)
+        .parallel()
+        .mapToObj(chunk -> {
+          Cursor cursor = new Cursor(data, lineStart(data, chunk * chunkSize), lineStart(data, Math.min(size, (chunk + 1) * chunkSize)));
+          MinorUnitTotals totals = new MinorUnitTotals();
+          while (cursor.next()) {
+            totals.add(cursor.currency.ordinal(), cursor.minorUnits());
+          }
+          return totals;
+        })
+        .reduce(MinorUnitTotals::merge)
+        .orElseThrow();
+  }
+
+  /**
+   * Start of the first line beginning at or after {@code position}.
+   */
+  private static long lineStart(MemorySegment data, long position) {
+    if (position == 0) {
+      return 0;
+    }
+    long size = data.byteSize();
+    for (long i = position - 1; i < size; i++) {
+      if (data.get(ValueLayout.JAVA_BYTE, i) == '\n') {
+        return i + 1;
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public void close() {
+    if (arena != null) {
+      arena.close();
+    }
+  }
+
+  /**
+   * Parses the lines of {@code [position, end)} one at a time into its mutable fields.
+   */
+  private static final class Cursor {
+    private final MemorySegment data;
+    private long position;
+    private long end;
+    private long unscaled;
+    private int scale;
+    private Currency currency;
+
+    private Cursor(MemorySegment data, long position, long end) {
+      this.data = data;
+      this.position = position;
+      this.end = end;
+    }
+
+    boolean next() {
+      while (position < end && isLineBreak(byteAt(position))) {
+        position++;
+      }
+      if (position >= end) {
+        return false;
+      }
+      long lineStart = position;
+      try {
+        parseAmount(lineStart);
+        currency = parseCurrency(lineStart);
+      } catch (ArithmeticException e) {
+        throw new IllegalArgumentException("amount out of range at byte " + lineStart, e);
+      }
+      return true;
+    }
+
+    private void parseAmount(long lineStart) {
+      byte first = byteAt(position);
+      boolean negative = first == '-';
+      if (negative || first == '+') {
+        position++;
+      }
+      long value = 0;
+      int digits = 0;
+      int fractionDigits = -1;
+      for (; position < end; position++) {
+        byte b = byteAt(position);
+        if (b >= '0' && b <= '9') {
+          value = Math.addExact(Math.multiplyExact(value, 10), b - '0');
+          digits++;
+          if (fractionDigits >= 0) {
+            fractionDigits++;
+          }
+        } else if (b == '.' && fractionDigits < 0) {
+          fractionDigits = 0;
+        } else {
+          break;
+        }
+      }
+      if (digits == 0 || position >= end || byteAt(position) != ',') {
+        throw malformed(lineStart);
+      }
+      position++;
+      unscaled = negative ? -value : value;
+      scale = Math.max(fractionDigits, 0);
+    }
+
+    private Currency parseCurrency(long lineStart) {
+      long codeStart = position;
+      while (position < end && !isLineBreak(byteAt(position))) {
+        position++;
+      }
+      long length = position - codeStart;
+      if (length > 0 && byteAt(position - 1) == '\r') {
+        length--;
+      }
+      for (Currency candidate : CURRENCIES) {
+        if (matches(CODES[candidate.ordinal()], codeStart, length)) {
+          return candidate;
+        }
+      }
+      throw malformed(lineStart);
+    }
+
+    private boolean matches(byte[] code, long offset, long length) {
+      if (code.length != length) {
+        return false;
+      }
+      for (int i = 0; i < code.length; i++) {
+        if (byteAt(offset + i) != code[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    long minorUnits() {
+      int shift = currency.scale() - scale;
+      if (shift >= 0) {
+        return Math.multiplyExact(unscaled, POWERS_OF_TEN[shift]);
+      }
+      if (-shift >= POWERS_OF_TEN.length || unscaled % POWERS_OF_TEN[-shift] != 0) {
+        throw new ArithmeticException("amount has more decimal places than " + currency + " allows");
+      }
+      return unscaled / POWERS_OF_TEN[-shift];
+    }
+
+    Money toMoney() {
+      return new Money(BigDecimal.valueOf(unscaled, scale), currency);
+    }
+
+    private byte byteAt(long offset) {
+      return data.get(ValueLayout.JAVA_BYTE, offset);
+    }
+
+    private static boolean isLineBreak(byte b) {
+      return b == '\n' || b == '\r';
+    }
+
+    private static IllegalArgumentException malformed(long lineStart) {
+      return new IllegalArgumentException("malformed money line at byte " + lineStart);
+    }
+  }
+
+  private static final class MoneySpliterator implements Spliterator<Money> {
+    private final Cursor cursor;
+
+    private MoneySpliterator(Cursor cursor) {
+      this.cursor = cursor;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Money> action) {
+      if (!cursor.next()) {
+        return false;
+      }
+      action.accept(cursor.toMoney());
+      return true;
+    }
+
+    @Override
+    public Spliterator<Money> trySplit() {
+      long remaining = cursor.end - cursor.position;
+      if (remaining < MIN_SPLIT_SIZE) {
+        return null;
+      }
+      long middle = lineStart(cursor.data, cursor.position + remaining / 2);
+      if (middle >= cursor.end) {
+        return null;
+      }
+      Spliterator<Money> prefix = new MoneySpliterator(new Cursor(cursor.data, cursor.position, middle));
+      cursor.position = middle;
+      return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+      return cursor.end - cursor.position;
+    }
+
+    @Override
+    public int characteristics() {
+      return ORDERED | NONNULL | IMMUTABLE;
+    }
+  }
+
+}
@@ -0,0 +1,24 @@
+package com.github.asciborek.stream;
+
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteOrder;
+
+/**
+ * Binary ledger layout shared by {@link MoneyLedgerWriter} and {@link MoneyLedgerReader}. A little-endian header
+ * ({@code int} magic, {@code int} version) is followed by fixed-width rows of {@code long} minor units and one
+ * {@code byte} currency ordinal, i.e. {@link CompactMoney} without the object header.
+ */
+final class MoneyLedgerFormat {
+
+  static final int MAGIC = 0x4C594E4D; // "MNYL" read little-endian
+  static final int VERSION = 1;
+  static final int HEADER_SIZE = Integer.BYTES * 2;
+  static final int AMOUNT_OFFSET = 0;
+  static final int CURRENCY_OFFSET = Long.BYTES;
+  static final int ROW_SIZE = Long.BYTES + Byte.BYTES;
+
+  static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+
+  private MoneyLedgerFormat() {}
+
+}
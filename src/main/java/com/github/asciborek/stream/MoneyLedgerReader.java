@@ -0,0 +1,118 @@
+package com.github.asciborek.stream;
+
+import static com.github.asciborek.stream.MoneyLedgerFormat.AMOUNT_OFFSET;
+import static com.github.asciborek.stream.MoneyLedgerFormat.CURRENCY_OFFSET;
+import static com.github.asciborek.stream.MoneyLedgerFormat.HEADER_SIZE;
+import static com.github.asciborek.stream.MoneyLedgerFormat.LONG;
+import static com.github.asciborek.stream.MoneyLedgerFormat.MAGIC;
+import static com.github.asciborek.stream.MoneyLedgerFormat.ROW_SIZE;
+import static com.github.asciborek.stream.MoneyLedgerFormat.VERSION;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Memory-maps a ledger written by {@link MoneyLedgerWriter} and aggregates it in place: rows are read straight
+ * from the mapping, so no {@link Money} is created per row and the file may be larger than the heap. A trailing
+ * partially written row is ignored. The mapping is released by {@link #close()}.
+ */
+public final class MoneyLedgerReader implements AutoCloseable {
+
+  private static final Currency[] CURRENCIES = Currency.values();
+
+  private final Arena arena;
+  private final MemorySegment rows;
+  private final long size;
+
+  private MoneyLedgerReader(Arena arena, MemorySegment rows) {
+    this.arena = arena;
+    this.rows = rows;
+    this.size = rows.byteSize() / ROW_SIZE;
+  }
+
+  public static MoneyLedgerReader open(Path path) throws IOException {
+    Arena arena = Arena.ofShared();
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      checkHeader(channel);
+      MemorySegment file = channel.map(MapMode.READ_ONLY, 0, channel.size(), arena);
+      return new MoneyLedgerReader(arena, file.asSlice(HEADER_SIZE));
+    } catch (IOException | RuntimeException e) {
+      arena.close();
+      throw e;
+    }
+  }
+
+  static void checkHeader(FileChannel channel) throws IOException {
+    if (channel.size() < HEADER_SIZE) {
+      throw new IOException("not a money ledger file");
+    }
+    ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+    while (header.hasRemaining()) {
+      channel.read(header, header.position());
+    }
+    header.flip();
+    if (header.getInt() != MAGIC) {
+      throw new IOException("not a money ledger file");
+    }
+    int version = header.getInt();
+    if (version != VERSION) {
+      throw new IOException("unsupported money ledger version: " + version);
+    }
+  }
+
+  public long size() {
+    return size;
+  }
+
+  public CompactMoney get(long index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException(index);
+    }
+    long offset = index * ROW_SIZE;
+    return new CompactMoney(amountAt(offset), CURRENCIES[currencyAt(offset)]);
+  }
+
+  public Map<Currency, CompactMoney> sumByCurrency() {
+    return totals().sumByCurrency();
+  }
+
+  public Map<Currency, CompactMoney> maxByCurrency() {
+    return totals().maxByCurrency();
+  }
+
+  private MinorUnitTotals totals() {
+    MinorUnitTotals totals = new MinorUnitTotals();
+    long end = size * ROW_SIZE;
+    for (long offset = 0; offset < end; offset += ROW_SIZE) {
+      totals.add(currencyAt(offset), amountAt(offset));
+    }
+    return totals;
+  }
+
+  private long amountAt(long offset) {
+    return rows.get(LONG, offset + AMOUNT_OFFSET);
+  }
+
+  private int currencyAt(long offset) {
+    int ordinal = rows.get(ValueLayout.JAVA_BYTE, offset + CURRENCY_OFFSET);
+    if (ordinal < 0 || ordinal >= CURRENCIES.length) {
+      throw new IllegalStateException("corrupted ledger row at byte " + (HEADER_SIZE + offset));
+    }
+    return ordinal;
+  }
+
+  @Override
+  public void close() {
+    arena.close();
+  }
+
+}
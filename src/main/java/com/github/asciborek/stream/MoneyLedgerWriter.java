@@ -0,0 +1,82 @@
+package com.github.asciborek.stream;
+
+import static com.github.asciborek.stream.MoneyLedgerFormat.HEADER_SIZE;
+import static com.github.asciborek.stream.MoneyLedgerFormat.MAGIC;
+import static com.github.asciborek.stream.MoneyLedgerFormat.ROW_SIZE;
+import static com.github.asciborek.stream.MoneyLedgerFormat.VERSION;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends {@link Money} records to a binary ledger file (see {@link MoneyLedgerFormat}). Rows are buffered and
+ * written in blocks; call {@link #flush()} or {@link #close()} to make them visible to readers. Not thread-safe.
+ */
+public final class MoneyLedgerWriter implements AutoCloseable {
+
+  private static final int BUFFER_ROWS = 8192;
+
+  private final FileChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_ROWS * ROW_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+  private MoneyLedgerWriter(FileChannel channel) {
+    this.channel = channel;
+  }
+
+  /**
+   * Opens the ledger for appending, creating it (with a header) if it does not exist or is empty.
+   */
+  public static MoneyLedgerWriter open(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+    try {
+      if (channel.size() == 0) {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN).putInt(MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) {
+          channel.write(header);
+        }
+      } else {
+        MoneyLedgerReader.checkHeader(channel);
+      }
+      long rows = (channel.size() - HEADER_SIZE) / ROW_SIZE;
+      channel.position(HEADER_SIZE + rows * ROW_SIZE);
+      return new MoneyLedgerWriter(channel);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  /**
+   * @throws ArithmeticException if the amount cannot be represented in minor units, see {@link CompactMoney#of(Money)}
+   */
+  public void append(Money money) throws IOException {
+    append(CompactMoney.of(money));
+  }
+
+  public void append(CompactMoney money) throws IOException {
+    if (buffer.remaining() < ROW_SIZE) {
+      flush();
+    }
+    buffer.putLong(money.minorUnits()).put((byte) money.currency().ordinal());
+  }
+
+  public void flush() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  @Override
+  public void close() throws IOException {
+    try (channel) {
+      flush();
+    }
+  }
+
+}
@@ -0,0 +1,229 @@
+package com.github.asciborek.stream;
+
+import com.github.asciborek.generics.Option;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * {@link Flow.Processor} stage that filters and/or converts {@link Money} on its way from a push-based source to a
+ * subscriber, honouring the demand of both sides. At most {@code prefetch} items are requested from upstream
+ * ahead of downstream demand; they wait in a buffer of that size, so a fast producer cannot grow the memory of a
+ * slow consumer. Consumed items (delivered or filtered out) are requested again in batches of
+ * {@code batchSize}, which saves a {@code request} call per item.
+ *
+ * <p>A transform that returns {@link Option#empty()} drops the item; one that throws cancels upstream and fails
+ * downstream. The processor accepts a single subscriber.
+ */
+public class MoneyProcessor implements Flow.Processor<Money, Money> {
+
+  private final Function<? super Money, Option<Money>> transform;
+  private final int prefetch;
+  private final int batchSize;
+  private final Queue<Money> buffer;
+  private final AtomicInteger wip = new AtomicInteger();
+  private final AtomicLong requested = new AtomicLong();
+  private final AtomicLong dropped = new AtomicLong();
+  private final AtomicReference<Flow.Subscriber<? super Money>> downstream = new AtomicReference<>();
+  private volatile Flow.Subscription upstream;
+  private volatile boolean done;
+  private volatile boolean cancelled;
+  private volatile Throwable error;
+  // owned by the drain loop
+  private boolean upstreamRequested;
+  private boolean upstreamCancelled;
+  private boolean terminated;
+  private long consumed;
+
+  public MoneyProcessor(Function<? super Money, Option<Money>> transform, int prefetch, int batchSize) {
+    if (prefetch <= 0 || batchSize <= 0 || batchSize > prefetch) {
+      throw new IllegalArgumentException("prefetch and batchSize must be positive and batchSize must not exceed prefetch");
+    }
+    this.transform = Objects.requireNonNull(transform, "transform cannot be null");
+    this.prefetch = prefetch;
+    this.batchSize = batchSize;
+    this.buffer = new ArrayBlockingQueue<>(prefetch);
+  }
+
+  public static MoneyProcessor filtering(Predicate<? super Money> filter, int prefetch, int batchSize) {
+    return new MoneyProcessor(money -> filter.test(money) ? Option.ofValue(money) : Option.empty(), prefetch, batchSize);
+  }
+
+  /**
+   * Converts every amount to {@code to} at the exchange's rates at the time the item passes.
+   */
+  public static MoneyProcessor converting(CurrencyExchange exchange, Currency to, int prefetch, int batchSize) {
+    return new MoneyProcessor(money -> Option.ofValue(exchange.convert(money, to)), prefetch, batchSize);
+  }
+
+  @Override
+  public void subscribe(Flow.Subscriber<? super Money> subscriber) {
+    Objects.requireNonNull(subscriber, "subscriber cannot be null");
+    if (!downstream.compareAndSet(null, subscriber)) {
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(long n) {}
+
+        @Override
+        public void cancel() {}
+      });
+      subscriber.onError(new IllegalStateException("MoneyProcessor supports a single subscriber"));
+      return;
+    }
+    subscriber.onSubscribe(new Flow.Subscription() {
+      @Override
+      public void request(long n) {
+        if (n <= 0) {
+          fail(new IllegalArgumentException("request must be positive, was " + n));
+        } else {
+          requested.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        }
+        drain();
+      }
+
+      @Override
+      public void cancel() {
+        cancelled = true;
+        drain();
+      }
+    });
+    drain();
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    if (upstream != null) {
+      subscription.cancel();
+      return;
+    }
+    upstream = subscription;
+    drain();
+  }
+
+  @Override
+  public void onNext(Money money) {
+    if (done) {
+      return;
+    }
+    Option<Money> result;
+    try {
+      result = transform.apply(money);
+    } catch (RuntimeException e) {
+      fail(e);
+      drain();
+      return;
+    }
+    if (!result.isPresent()) {
+      dropped.incrementAndGet();
+    } else if (!buffer.offer(result.orElse(null))) {
+      fail(new IllegalStateException("upstream sent more items than requested"));
+    }
+    drain();
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    fail(throwable);
+    drain();
+  }
+
+  @Override
+  public void onComplete() {
+    done = true;
+    drain();
+  }
+
+  private void fail(Throwable throwable) {
+    if (error == null) {
+      error = throwable;
+    }
+    done = true;
+  }
+
+  /**
+   * Serializes all signals to downstream and all calls on the upstream subscription: whichever thread gets the
+   * work-in-progress counter from 0 runs the loop, others only make it run once more.
+   */
+  private void drain() {
+    if (wip.getAndIncrement() != 0) {
+      return;
+    }
+    int missed = 1;
+    do {
+      Flow.Subscription subscription = upstream;
+      if (cancelled) {
+        cancelUpstream(subscription);
+        buffer.clear();
+      } else if (!terminated) {
+        if (subscription != null && !upstreamRequested) {
+          upstreamRequested = true;
+          subscription.request(prefetch);
+        }
+        Flow.Subscriber<? super Money> subscriber = downstream.get();
+        if (subscriber != null) {
+          emit(subscriber, subscription);
+        }
+        if (error != null && !terminated) {
+          cancelUpstream(subscription);
+        }
+      }
+      missed = wip.addAndGet(-missed);
+    } while (missed != 0);
+  }
+
+  private void emit(Flow.Subscriber<? super Money> subscriber, Flow.Subscription subscription) {
+    Throwable failure = error;
+    if (failure != null) {
+      // errors skip the buffer
+      terminated = true;
+      buffer.clear();
+      cancelUpstream(subscription);
+      subscriber.onError(failure);
+      return;
+    }
+    long demand = requested.get();
+    long emitted = 0;
+    while (emitted != demand && !cancelled) {
+      boolean completed = done;
+      Money money = buffer.poll();
+      if (money == null) {
+        if (completed) {
+          terminated = true;
+          subscriber.onComplete();
+          return;
+        }
+        break;
+      }
+      subscriber.onNext(money);
+      emitted++;
+      consumed++;
+    }
+    if (emitted == demand && done && error == null && buffer.isEmpty() && !cancelled) {
+      terminated = true;
+      subscriber.onComplete();
+      return;
+    }
+    if (emitted != 0 && demand != Long.MAX_VALUE) {
+      requested.addAndGet(-emitted);
+    }
+    consumed += dropped.getAndSet(0);
+    if (consumed >= batchSize && subscription != null && !done && !cancelled) {
+      subscription.request(consumed);
+      consumed = 0;
+    }
+  }
+
+  private void cancelUpstream(Flow.Subscription subscription) {
+    if (subscription != null && !upstreamCancelled) {
+      upstreamCancelled = true;
+      subscription.cancel();
+    }
+  }
+
+}
@@ -0,0 +1,46 @@
+package com.github.asciborek.stream;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Long-lived, thread-safe counterpart of {@link MoneyUtil#sumAmountByCurrency} and
+ * {@link MoneyUtil#getMaxByCurrency}. Producers push amounts with {@link #add(Money)}; each currency has its own
+ * CAS-updated slot, so there is no lock on the write path and snapshots cost O(number of currencies).
+ */
+public final class MoneyRunningTotals {
+
+  private static final Currency[] CURRENCIES = Currency.values();
+
+  private final AtomicReferenceArray<BigDecimal> sums = new AtomicReferenceArray<>(CURRENCIES.length);
+  private final AtomicReferenceArray<BigDecimal> maxes = new AtomicReferenceArray<>(CURRENCIES.length);
+
+  public void add(Money money) {
+    int ordinal = money.currency().ordinal();
+    BigDecimal amount = money.amount();
+    sums.accumulateAndGet(ordinal, amount, (sum, summand) -> sum == null ? summand : sum.add(summand));
+    maxes.accumulateAndGet(ordinal, amount, (max, candidate) -> max == null || candidate.compareTo(max) > 0 ? candidate : max);
+  }
+
+  public Map<Currency, BigDecimal> sumByCurrency() {
+    return snapshot(sums);
+  }
+
+  public Map<Currency, BigDecimal> maxByCurrency() {
+    return snapshot(maxes);
+  }
+
+  private static Map<Currency, BigDecimal> snapshot(AtomicReferenceArray<BigDecimal> values) {
+    Map<Currency, BigDecimal> snapshot = new EnumMap<>(Currency.class);
+    for (Currency currency : CURRENCIES) {
+      BigDecimal value = values.get(currency.ordinal());
+      if (value != null) {
+        snapshot.put(currency, value);
+      }
+    }
+    return snapshot;
+  }
+
+}
@@ -0,0 +1,73 @@
+package com.github.asciborek.stream;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+/**
+ * {@link Flow.Subscriber} sink computing {@link CurrencyStatistics} (count, sum, min, max, average) per currency
+ * of a push-based {@link Money} source, without buffering it: it requests {@code prefetch} items up front and
+ * then {@code batchSize} more each time that many have been aggregated. {@link #result()} completes when the
+ * source completes, fails with the source's error and cancels the subscription if it is cancelled itself.
+ */
+public class MoneyStatisticsSubscriber implements Flow.Subscriber<Money> {
+
+  private final int prefetch;
+  private final int batchSize;
+  private final CurrencyStatisticsAccumulator accumulator = new CurrencyStatisticsAccumulator();
+  private final CompletableFuture<Map<Currency, CurrencyStatistics>> result = new CompletableFuture<>();
+  private Flow.Subscription subscription;
+  private int consumed;
+
+  public MoneyStatisticsSubscriber(int prefetch, int batchSize) {
+    if (prefetch <= 0 || batchSize <= 0 || batchSize > prefetch) {
+      throw new IllegalArgumentException("prefetch and batchSize must be positive and batchSize must not exceed prefetch");
+    }
+    this.prefetch = prefetch;
+    this.batchSize = batchSize;
+  }
+
+  public CompletableFuture<Map<Currency, CurrencyStatistics>> result() {
+    return result;
+  }
+
+  @Override
+  public void onSubscribe(Flow.Subscription subscription) {
+    Objects.requireNonNull(subscription, "subscription cannot be null");
+    if (this.subscription != null || result.isDone()) {
+      subscription.cancel();
+      return;
+    }
+    this.subscription = subscription;
+    result.whenComplete((_, _) -> {
+      if (result.isCancelled()) {
+        subscription.cancel();
+      }
+    });
+    subscription.request(prefetch);
+  }
+
+  @Override
+  public void onNext(Money money) {
+    if (result.isDone()) {
+      return;
+    }
+    accumulator.accept(money);
+    if (++consumed == batchSize) {
+      consumed = 0;
+      subscription.request(batchSize);
+    }
+  }
+
+  @Override
+  public void onError(Throwable throwable) {
+    result.completeExceptionally(throwable);
+  }
+
+  @Override
+  public void onComplete() {
+    result.complete(accumulator.toStatistics());
+  }
+
+}
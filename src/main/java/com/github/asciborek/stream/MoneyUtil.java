@@ -1,22 +1,143 @@
 package com.github.asciborek.stream;
 
+import com.github.asciborek.metrics.Component;
+import com.github.asciborek.metrics.Counter;
+import com.github.asciborek.metrics.Metrics;
+import com.github.asciborek.metrics.Timer;
 import java.math.BigDecimal;
 import java.util.Collection;
+import java.util.EnumMap;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collector;
+import java.util.stream.Collector.Characteristics;
 import java.util.stream.Collectors;
 
 public final class MoneyUtil {
+  private static final Component METRICS = Metrics.component("MoneyUtil");
+  private static final Timer MAX_BY_CURRENCY = METRICS.timer("getMaxByCurrency");
+  private static final Timer SUM_BY_CURRENCY = METRICS.timer("sumAmountByCurrency");
+  private static final Counter MONIES_AGGREGATED = METRICS.counter("moniesAggregated");
+
   private MoneyUtil() {}
 
   public static Map<Currency, BigDecimal> getMaxByCurrency(Collection<Money> monies) {
-   return monies.stream()
-       .collect(Collectors.toMap(Money::currency, Money::amount, BinaryOperator.maxBy(BigDecimal::compareTo)));
+    long start = MAX_BY_CURRENCY.start();
+    try {
+      MONIES_AGGREGATED.add(monies.size());
+      return monies.stream()
+          .collect(Collectors.toMap(Money::currency, Money::amount, BinaryOperator.maxBy(BigDecimal::compareTo)));
+    } finally {
+      MAX_BY_CURRENCY.stop(start);
+    }
   }
 
   public static Map<Currency, BigDecimal> sumAmountByCurrency(Collection<Money> monies) {
-    return monies.stream()
-        .collect(Collectors.toMap(Money::currency, Money::amount, BigDecimal::add));
+    long start = SUM_BY_CURRENCY.start();
+    try {
+      MONIES_AGGREGATED.add(monies.size());
+      return monies.stream()
+          .collect(Collectors.toMap(Money::currency, Money::amount, BigDecimal::add));
+    } finally {
+      SUM_BY_CURRENCY.stop(start);
+    }
+  }
+
+  public static Map<Currency, CurrencyStatistics> statisticsByCurrency(Collection<Money> monies) {
+    return monies.stream().collect(statisticsByCurrency());
+  }
+
+  /**
+   * Computes count, sum, min, max and average per currency in a single pass.
+   */
+  public static Collector<Money, ?, Map<Currency, CurrencyStatistics>> statisticsByCurrency() {
+    return Collector.of(CurrencyStatisticsAccumulator::new, CurrencyStatisticsAccumulator::accept,
+        CurrencyStatisticsAccumulator::combine, CurrencyStatisticsAccumulator::toStatistics, Characteristics.UNORDERED);
+  }
+
+  /**
+   * Fork/join variant of {@link #statisticsByCurrency(Collection)} for very large collections: the input is split into
+   * chunks sized for the pool's parallelism, each chunk is aggregated into a per-currency partial and the partials
+   * are combined in a tree. Non-random-access collections are copied into a list first.
+   */
+  public static Map<Currency, CurrencyStatistics> statisticsByCurrency(Collection<Money> monies, ForkJoinPool pool) {
+    MONIES_AGGREGATED.add(monies.size());
+    return ChunkedAggregation.invoke(monies, pool, CurrencyStatisticsAccumulator::new,
+        CurrencyStatisticsAccumulator::accept, CurrencyStatisticsAccumulator::combine).toStatistics();
+  }
+
+  /**
+   * Runs {@link #statisticsByCurrency(Collection, ForkJoinPool)} in a pool of the given parallelism, created for
+   * this call only.
+   */
+  public static Map<Currency, CurrencyStatistics> statisticsByCurrency(Collection<Money> monies, int parallelism) {
+    try (ForkJoinPool pool = new ForkJoinPool(parallelism)) {
+      return statisticsByCurrency(monies, pool);
+    }
+  }
+
+  public static Map<Currency, BigDecimal> sumAmountByCurrency(Collection<Money> monies, ForkJoinPool pool) {
+    return mapValues(statisticsByCurrency(monies, pool), CurrencyStatistics::sum);
+  }
+
+  public static Map<Currency, BigDecimal> getMaxByCurrency(Collection<Money> monies, ForkJoinPool pool) {
+    return mapValues(statisticsByCurrency(monies, pool), CurrencyStatistics::max);
+  }
+
+  /**
+   * Fork/join variant of {@link #sumCompactAmountByCurrency(Collection)}, see
+   * {@link #statisticsByCurrency(Collection, ForkJoinPool)}.
+   *
+   * @throws ArithmeticException if a sum does not fit in a {@code long}
+   */
+  public static Map<Currency, CompactMoney> sumCompactAmountByCurrency(Collection<CompactMoney> monies, ForkJoinPool pool) {
+    return compactTotals(monies, pool).sumByCurrency();
+  }
+
+  public static Map<Currency, CompactMoney> getCompactMaxByCurrency(Collection<CompactMoney> monies, ForkJoinPool pool) {
+    return compactTotals(monies, pool).maxByCurrency();
+  }
+
+  private static MinorUnitTotals compactTotals(Collection<CompactMoney> monies, ForkJoinPool pool) {
+    MONIES_AGGREGATED.add(monies.size());
+    return ChunkedAggregation.invoke(monies, pool, MinorUnitTotals::new,
+        (totals, money) -> totals.add(money.currency().ordinal(), money.minorUnits()), MinorUnitTotals::merge);
+  }
+
+  private static <V> Map<Currency, V> mapValues(Map<Currency, CurrencyStatistics> statistics,
+      Function<CurrencyStatistics, V> value) {
+    Map<Currency, V> result = new EnumMap<>(Currency.class);
+    statistics.forEach((currency, currencyStatistics) -> result.put(currency, value.apply(currencyStatistics)));
+    return result;
+  }
+
+  /**
+   * Per-currency {@link QuantileSketch} of the amounts, e.g. for medians and p99 transaction sizes.
+   */
+  public static Collector<Money, ?, Map<Currency, QuantileSketch>> quantileSketchByCurrency() {
+    return Collectors.groupingBy(Money::currency, () -> new EnumMap<>(Currency.class),
+        Collectors.mapping(Money::amount, StreamUtils.quantileSketch()));
+  }
+
+  public static Map<Currency, CompactMoney> getCompactMaxByCurrency(Collection<CompactMoney> monies) {
+    return totals(monies).maxByCurrency();
+  }
+
+  /**
+   * @throws ArithmeticException if a sum does not fit in a {@code long}
+   */
+  public static Map<Currency, CompactMoney> sumCompactAmountByCurrency(Collection<CompactMoney> monies) {
+    return totals(monies).sumByCurrency();
+  }
+
+  private static MinorUnitTotals totals(Collection<CompactMoney> monies) {
+    MinorUnitTotals totals = new MinorUnitTotals();
+    for (CompactMoney money : monies) {
+      totals.add(money.currency().ordinal(), money.minorUnits());
+    }
+    return totals;
   }
 
 }
@@ -0,0 +1,230 @@
+package com.github.asciborek.stream;
+
+import java.math.BigDecimal;
+import java.util.OptionalDouble;
+
+/**
+ * Bounded-memory, mergeable quantile sketch with relative-error guarantees (the DDSketch algorithm, a close
+ * relative of KLL and t-digest). Values are counted in logarithmic buckets of ratio
+ * {@code gamma = (1 + a) / (1 - a)}, where {@code a} is the relative accuracy.
+ *
+ * <p>Error bound: for any quantile {@code q}, {@link #quantile} returns a value {@code v'} with
+ * {@code |v' - v| <= a * |v|}, where {@code v} is the exact lower {@code q}-quantile of the added values. Memory is
+ * at most {@code maxBuckets} counters per sign; when more would be needed, the buckets of the smallest magnitudes
+ * are folded together, after which the bound no longer holds for those smallest magnitudes only. With the
+ * defaults ({@code a = 1%}, 2048 buckets) that happens only if the added magnitudes span more than 17 orders of
+ * magnitude. The minimum and maximum are tracked exactly. Values closer to zero than {@link Double#MIN_NORMAL} are counted as zero.
+ *
+ * <p>As long as no buckets have been folded, in the inputs or in the result, merging two sketches gives exactly
+ * the sketch of the combined input, so partial sketches of a parallel stream or of separately processed
+ * partitions can be combined in any order. Once folding has happened, which buckets end up folded depends on
+ * the merge order and on how the input was split, so merged results may differ slightly; each still meets the
+ * error bound above, and the count, minimum and maximum stay exact. Not thread-safe.
+ */
+public final class QuantileSketch {
+
+  public static final double DEFAULT_RELATIVE_ACCURACY = 0.01;
+  public static final int DEFAULT_MAX_BUCKETS = 2048;
+
+  private final double relativeAccuracy;
+  private final double gamma;
+  private final double logGamma;
+  private final int maxBuckets;
+  private final Store positive;
+  private final Store negative;
+  private long zeroCount;
+  private double min = Double.POSITIVE_INFINITY;
+  private double max = Double.NEGATIVE_INFINITY;
+
+  public QuantileSketch() {
+    this(DEFAULT_RELATIVE_ACCURACY, DEFAULT_MAX_BUCKETS);
+  }
+
+  public QuantileSketch(double relativeAccuracy, int maxBuckets) {
+    if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+      throw new IllegalArgumentException("relativeAccuracy must be between 0 and 1");
+    }
+    if (maxBuckets <= 0) {
+      throw new IllegalArgumentException("maxBuckets must be positive");
+    }
+    this.relativeAccuracy = relativeAccuracy;
+    this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+    this.logGamma = Math.log(gamma);
+    this.maxBuckets = maxBuckets;
+    this.positive = new Store(maxBuckets);
+    this.negative = new Store(maxBuckets);
+  }
+
+  public void add(BigDecimal value) {
+    add(value.doubleValue());
+  }
+
+  public void add(double value) {
+    if (Double.isNaN(value) || Double.isInfinite(value)) {
+      throw new IllegalArgumentException("value must be finite: " + value);
+    }
+    if (value >= Double.MIN_NORMAL) {
+      positive.add(key(value), 1);
+    } else if (value <= -Double.MIN_NORMAL) {
+      negative.add(key(-value), 1);
+    } else {
+      zeroCount++;
+    }
+    min = Math.min(min, value);
+    max = Math.max(max, value);
+  }
+
+  /**
+   * Adds all values of {@code other} to this sketch.
+   *
+   * @throws IllegalArgumentException if the sketches were created with different parameters
+   */
+  public QuantileSketch merge(QuantileSketch other) {
+    if (relativeAccuracy != other.relativeAccuracy || maxBuckets != other.maxBuckets) {
+      throw new IllegalArgumentException("cannot merge sketches with different accuracy or size");
+    }
+    positive.addAll(other.positive);
+    negative.addAll(other.negative);
+    zeroCount += other.zeroCount;
+    min = Math.min(min, other.min);
+    max = Math.max(max, other.max);
+    return this;
+  }
+
+  public long count() {
+    return positive.total + negative.total + zeroCount;
+  }
+
+  public OptionalDouble min() {
+    return count() == 0 ? OptionalDouble.empty() : OptionalDouble.of(min);
+  }
+
+  public OptionalDouble max() {
+    return count() == 0 ? OptionalDouble.empty() : OptionalDouble.of(max);
+  }
+
+  public double relativeAccuracy() {
+    return relativeAccuracy;
+  }
+
+  /**
+   * @param quantile between 0 and 1, e.g. 0.5 for the median and 0.99 for p99
+   */
+  public OptionalDouble quantile(double quantile) {
+    if (!(quantile >= 0 && quantile <= 1)) {
+      throw new IllegalArgumentException("quantile must be between 0 and 1");
+    }
+    long count = count();
+    if (count == 0) {
+      return OptionalDouble.empty();
+    }
+    long rank = (long) (quantile * (count - 1));
+    double estimate;
+    if (rank == 0 || rank == count - 1) {
+      estimate = rank == 0 ? min : max;
+    } else if (rank < negative.total) {
+      estimate = -value(negative.keyAtRank(negative.total - 1 - rank));
+    } else if (rank < negative.total + zeroCount) {
+      estimate = 0;
+    } else {
+      estimate = value(positive.keyAtRank(rank - negative.total - zeroCount));
+    }
+    return OptionalDouble.of(Math.max(min, Math.min(max, estimate)));
+  }
+
+  private int key(double magnitude) {
+    return (int) Math.ceil(Math.log(magnitude) / logGamma);
+  }
+
+  private double value(int key) {
+    return 2 * Math.pow(gamma, key) / (gamma + 1);
+  }
+
+  /**
+   * Counts per bucket key, in an array covering at most {@code maxBuckets} consecutive keys.
+   */
+  private static final class Store {
+    private final int maxBuckets;
+    private long[] counts = new long[0];
+    private int offset;
+    private long total;
+    private boolean collapsed;
+
+    private Store(int maxBuckets) {
+      this.maxBuckets = maxBuckets;
+    }
+
+    void add(int key, long count) {
+      if ((key < offset && !collapsed) || key >= offset + counts.length) {
+        resize(key);
+      }
+      counts[Math.max(key, offset) - offset] += count;
+      total += count;
+    }
+
+    void addAll(Store other) {
+      for (int i = 0; i < other.counts.length; i++) {
+        if (other.counts[i] > 0) {
+          add(other.offset + i, other.counts[i]);
+        }
+      }
+    }
+
+    /**
+     * Key of the bucket holding the value of the given 0-based rank in ascending key order.
+     */
+    int keyAtRank(long rank) {
+      long seen = 0;
+      for (int i = 0; i < counts.length; i++) {
+        seen += counts[i];
+        if (seen > rank) {
+          return offset + i;
+        }
+      }
+      throw new IllegalStateException("rank out of range: " + rank);
+    }
+
+    /**
+     * Grows the array to cover {@code key}. If the used keys would span more than {@code maxBuckets}, the lowest
+     * ones are folded into the lowest bucket that still fits; from then on the array is full-size and its top is
+     * the highest used key, so lower keys can be folded without resizing.
+     */
+    private void resize(int key) {
+      int lowest = Math.min(key, lowestUsedKey());
+      int highest = Math.max(key, highestUsedKey());
+      if (highest - lowest + 1 > maxBuckets) {
+        lowest = highest - maxBuckets + 1;
+        collapsed = true;
+      }
+      int length = Math.min(maxBuckets, Math.max(Math.max(64, 2 * counts.length), highest - lowest + 1));
+      int newOffset = lowest - (length - (highest - lowest + 1)) / 2;
+      long[] resized = new long[length];
+      for (int i = 0; i < counts.length; i++) {
+        if (counts[i] > 0) {
+          resized[Math.max(offset + i, lowest) - newOffset] += counts[i];
+        }
+      }
+      counts = resized;
+      offset = newOffset;
+    }
+
+    private int lowestUsedKey() {
+      for (int i = 0; i < counts.length; i++) {
+        if (counts[i] > 0) {
+          return offset + i;
+        }
+      }
+      return Integer.MAX_VALUE;
+    }
+
+    private int highestUsedKey() {
+      for (int i = counts.length - 1; i >= 0; i--) {
+        if (counts[i] > 0) {
+          return offset + i;
+        }
+      }
+      return Integer.MIN_VALUE;
+    }
+  }
+
+}
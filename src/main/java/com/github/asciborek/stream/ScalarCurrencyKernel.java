@@ -0,0 +1,20 @@
+package com.github.asciborek.stream;
+
+final class ScalarCurrencyKernel implements CurrencyKernel {
+
+  private static final int CURRENCY_COUNT = Currency.values().length;
+
+  @Override
+  public void accumulate(long[] amounts, byte[] currencies, int from, int to, MinorUnitTotals totals) {
+    MinorUnitTotals partial = new MinorUnitTotals();
+    for (int i = from; i < to; i++) {
+      int ordinal = currencies[i];
+      if (ordinal < 0 || ordinal >= CURRENCY_COUNT) {
+        throw new IllegalArgumentException("invalid currency ordinal " + ordinal + " at index " + i);
+      }
+      partial.add(ordinal, amounts[i]);
+    }
+    totals.merge(partial);
+  }
+
+}
@@ -1,39 +1,182 @@
 package com.github.asciborek.stream;
 
+import com.github.asciborek.metrics.Metrics;
+import com.github.asciborek.metrics.Timer;
 import java.math.BigDecimal;
+import java.math.MathContext;
 import java.math.RoundingMode;
-import java.util.Collection;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.function.BiFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+import java.util.stream.Collector.Characteristics;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 public final class StreamUtils {
 
+  private static final Timer AVERAGE = Metrics.component("StreamUtils").timer("average");
+
   public static Optional<BigDecimal> average(Stream<BigDecimal> stream) {
+    return average(stream, RoundingMode.CEILING);
+  }
+
+  /**
+   * The average keeps the scale of the sum and is rounded with the given mode.
+   */
+  public static Optional<BigDecimal> average(Stream<BigDecimal> stream, RoundingMode roundingMode) {
+    if (stream == null) {
+      return Optional.empty();
+    }
+    long start = AVERAGE.start();
+    try {
+      return stream.collect(averaging(roundingMode));
+    } finally {
+      AVERAGE.stop(start);
+    }
+  }
+
+  public static Optional<BigDecimal> average(Stream<BigDecimal> stream, MathContext mathContext) {
     if (stream == null) {
       return Optional.empty();
     }
-    return stream.reduce(BigDecimalAverager.SEED, BigDecimalAverager::apply, BigDecimalAverager::combine)
-        .toAverage();
+    long start = AVERAGE.start();
+    try {
+      return stream.collect(averaging(mathContext));
+    } finally {
+      AVERAGE.stop(start);
+    }
+  }
+
+  /**
+   * Sums {@code long}s in 128 bits, so neither the sum nor the count can overflow.
+   */
+  public static OptionalDouble average(LongStream stream) {
+    if (stream == null) {
+      return OptionalDouble.empty();
+    }
+    return stream.collect(LongAverager::new, LongAverager::accept, LongAverager::combine).toAverage();
+  }
+
+  /**
+   * Delegates to {@link DoubleStream#average()}, which already uses compensated summation.
+   */
+  public static OptionalDouble average(DoubleStream stream) {
+    if (stream == null) {
+      return OptionalDouble.empty();
+    }
+    return stream.average();
+  }
+
+  /**
+   * Count, sum, min, max, mean and variance in a single pass, so the stream does not have to be buffered.
+   */
+  public static BigDecimalStatistics statistics(Stream<BigDecimal> stream) {
+    if (stream == null) {
+      return new BigDecimalStatistics();
+    }
+    return stream.collect(summarizingBigDecimal());
+  }
+
+  public static LongStatistics statistics(LongStream stream) {
+    if (stream == null) {
+      return new LongStatistics();
+    }
+    return stream.collect(LongStatistics::new, LongStatistics::accept, LongStatistics::combine);
+  }
+
+  public static DoubleStatistics statistics(DoubleStream stream) {
+    if (stream == null) {
+      return new DoubleStatistics();
+    }
+    return stream.collect(DoubleStatistics::new, DoubleStatistics::accept, DoubleStatistics::combine);
+  }
+
+  public static Collector<BigDecimal, ?, BigDecimalStatistics> summarizingBigDecimal() {
+    return Collector.of(BigDecimalStatistics::new, BigDecimalStatistics::accept, BigDecimalStatistics::combine,
+        Characteristics.IDENTITY_FINISH, Characteristics.UNORDERED);
+  }
+
+  public static <T> Collector<T, ?, LongStatistics> summarizingLong(ToLongFunction<? super T> mapper) {
+    return Collector.of(LongStatistics::new, (statistics, element) -> statistics.accept(mapper.applyAsLong(element)),
+        LongStatistics::combine, Characteristics.IDENTITY_FINISH, Characteristics.UNORDERED);
+  }
+
+  public static <T> Collector<T, ?, DoubleStatistics> summarizingDouble(ToDoubleFunction<? super T> mapper) {
+    return Collector.of(DoubleStatistics::new, (statistics, element) -> statistics.accept(mapper.applyAsDouble(element)),
+        DoubleStatistics::combine, Characteristics.IDENTITY_FINISH, Characteristics.UNORDERED);
+  }
+
+  public static Collector<BigDecimal, ?, Optional<BigDecimal>> averaging(RoundingMode roundingMode) {
+    return averaging((sum, count) -> sum.divide(count, roundingMode));
+  }
+
+  public static Collector<BigDecimal, ?, Optional<BigDecimal>> averaging(MathContext mathContext) {
+    return averaging((sum, count) -> sum.divide(count, mathContext));
+  }
+
+  public static Collector<BigDecimal, ?, QuantileSketch> quantileSketch() {
+    return quantileSketch(QuantileSketch.DEFAULT_RELATIVE_ACCURACY, QuantileSketch.DEFAULT_MAX_BUCKETS);
   }
 
-  record BigDecimalAverager(BigDecimal sum, int count) {
-    static BigDecimalAverager SEED = new BigDecimalAverager(BigDecimal.ZERO, 0);
+  public static Collector<BigDecimal, ?, QuantileSketch> quantileSketch(double relativeAccuracy, int maxBuckets) {
+    return Collector.of(() -> new QuantileSketch(relativeAccuracy, maxBuckets), QuantileSketch::add,
+        QuantileSketch::merge, Characteristics.IDENTITY_FINISH, Characteristics.UNORDERED);
+  }
+
+  private static Collector<BigDecimal, ?, Optional<BigDecimal>> averaging(BiFunction<BigDecimal, BigDecimal, BigDecimal> divide) {
+    return Collector.of(BigDecimalAverager::new, BigDecimalAverager::accept, BigDecimalAverager::combine,
+        averager -> averager.toAverage(divide), Characteristics.UNORDERED);
+  }
+
+  static final class BigDecimalAverager {
+    private BigDecimal sum = BigDecimal.ZERO;
+    private long count;
 
-    public BigDecimalAverager apply(BigDecimal bigDecimal) {
-      return new BigDecimalAverager(sum.add(bigDecimal), count + 1);
+    void accept(BigDecimal bigDecimal) {
+      sum = sum.add(bigDecimal);
+      count++;
     }
 
-    public BigDecimalAverager combine(BigDecimalAverager another) {
-      return new BigDecimalAverager(sum.add(another.sum()), count + another.count());
+    BigDecimalAverager combine(BigDecimalAverager another) {
+      sum = sum.add(another.sum);
+      count += another.count;
+      return this;
     }
 
-    public Optional<BigDecimal> toAverage() {
+    Optional<BigDecimal> toAverage(BiFunction<BigDecimal, BigDecimal, BigDecimal> divide) {
       if (count == 0) {
         return Optional.empty();
       }
-      BigDecimal average = sum.divide(BigDecimal.valueOf(count), RoundingMode.CEILING);
-      return Optional.of(average);
+      return Optional.of(divide.apply(sum, BigDecimal.valueOf(count)));
+    }
+  }
+
+  static final class LongAverager {
+    private final LongSum128 sum = new LongSum128();
+    private long count;
+
+    void accept(long value) {
+      sum.add(value);
+      count++;
+    }
+
+    void combine(LongAverager another) {
+      sum.add(another.sum);
+      count += another.count;
     }
 
+    OptionalDouble toAverage() {
+      if (count == 0) {
+        return OptionalDouble.empty();
+      }
+      if (sum.fitsInLong()) {
+        return OptionalDouble.of((double) sum.longValueExact() / count);
+      }
+      return OptionalDouble.of(new BigDecimal(sum.toBigInteger()).divide(BigDecimal.valueOf(count), MathContext.DECIMAL64).doubleValue());
+    }
   }
 }
@@ -0,0 +1,84 @@
+package com.github.asciborek.stream;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Branch-free SIMD kernel. Eight currency ordinals are loaded at a time and widened to {@code long} lanes; for every
+ * currency the lanes holding it are selected with a mask and folded into per-currency accumulators with masked
+ * add/max/min. Lanes are reduced once at the end, and the tail that does not fill a vector is handled by the scalar
+ * kernel.
+ *
+ * <p>Overflow of any lane accumulator is detected with the usual sign test, and the range is then recomputed by
+ * {@link ScalarCurrencyKernel}, whose 128-bit sums cannot overflow; the same happens for an ordinal out of range.
+ * Otherwise every lane holds the exact sum of its elements and the lanes are added into the 128-bit totals, so
+ * both kernels produce the same totals whatever the lane width. Loaded only when the {@code jdk.incubator.vector}
+ * module is present, see {@link CurrencyKernels}.
+ */
+final class VectorCurrencyKernel implements CurrencyKernel {
+
+  private static final VectorSpecies<Byte> ORDINALS = ByteVector.SPECIES_64;
+  private static final VectorSpecies<Long> AMOUNTS = LongVector.SPECIES_PREFERRED;
+  private static final int PARTS = ORDINALS.length() / AMOUNTS.length();
+  private static final int CURRENCY_COUNT = Currency.values().length;
+
+  private final CurrencyKernel scalar = new ScalarCurrencyKernel();
+
+  @Override
+  public void accumulate(long[] amounts, byte[] currencies, int from, int to, MinorUnitTotals totals) {
+    int upper = from + ORDINALS.loopBound(to - from);
+    LongVector[] sums = new LongVector[CURRENCY_COUNT];
+    LongVector[] maxes = new LongVector[CURRENCY_COUNT];
+    LongVector[] mins = new LongVector[CURRENCY_COUNT];
+    long[] counts = new long[CURRENCY_COUNT];
+    for (int c = 0; c < CURRENCY_COUNT; c++) {
+      sums[c] = LongVector.zero(AMOUNTS);
+      maxes[c] = LongVector.broadcast(AMOUNTS, Long.MIN_VALUE);
+      mins[c] = LongVector.broadcast(AMOUNTS, Long.MAX_VALUE);
+    }
+    LongVector overflow = LongVector.zero(AMOUNTS);
+
+    for (int i = from; i < upper; i += ORDINALS.length()) {
+      ByteVector ordinals = ByteVector.fromArray(ORDINALS, currencies, i);
+      for (int part = 0; part < PARTS; part++) {
+        LongVector currency = (LongVector) ordinals.convertShape(VectorOperators.B2L, AMOUNTS, part);
+        LongVector amount = LongVector.fromArray(AMOUNTS, amounts, i + part * AMOUNTS.length());
+        for (int c = 0; c < CURRENCY_COUNT; c++) {
+          VectorMask<Long> mask = currency.eq(c);
+          LongVector sum = sums[c].add(amount, mask);
+          overflow = overflow.or(sums[c].lanewise(VectorOperators.XOR, sum).and(amount.lanewise(VectorOperators.XOR, sum)));
+          sums[c] = sum;
+          maxes[c] = maxes[c].lanewise(VectorOperators.MAX, amount, mask);
+          mins[c] = mins[c].lanewise(VectorOperators.MIN, amount, mask);
+          counts[c] += mask.trueCount();
+        }
+      }
+    }
+
+    long matched = 0;
+    for (long count : counts) {
+      matched += count;
+    }
+    if (matched != upper - from || overflow.compare(VectorOperators.LT, 0).anyTrue()) {
+      // an invalid ordinal or a lane overflow: let the scalar kernel report or absorb it
+      scalar.accumulate(amounts, currencies, from, to, totals);
+      return;
+    }
+
+    MinorUnitTotals partial = new MinorUnitTotals();
+    for (int c = 0; c < CURRENCY_COUNT; c++) {
+      for (long lane : sums[c].toArray()) {
+        partial.sums[c].add(lane);
+      }
+      partial.maxes[c] = maxes[c].reduceLanes(VectorOperators.MAX);
+      partial.mins[c] = mins[c].reduceLanes(VectorOperators.MIN);
+      partial.counts[c] = counts[c];
+    }
+    scalar.accumulate(amounts, currencies, upper, to, partial);
+    totals.merge(partial);
+  }
+
+}
@@ -0,0 +1,139 @@
+package com.github.asciborek.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.asciborek.generics.Option;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class BoundedCacheTest {
+
+  @Test
+  void returnsPutValuesAndCountsHitsAndMisses() {
+    BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+    cache.put("one", 1);
+
+    assertThat(cache.get("one")).isEqualTo(Option.ofValue(1));
+    assertThat(cache.get("two")).isEqualTo(Option.empty());
+    assertThat(cache.stats()).isEqualTo(new CacheStats(1, 1, 0));
+    assertThat(cache.stats().hitRate()).isEqualTo(0.5);
+  }
+
+  @Test
+  void loaderIsCalledOnceAndEmptyResultIsCachedAsNegativeEntry() {
+    BoundedCache<Integer, String> cache = new BoundedCache<>(10);
+    AtomicInteger loads = new AtomicInteger();
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(cache.get(1, key -> {
+        loads.incrementAndGet();
+        return Option.ofValue("value-" + key);
+      })).isEqualTo(Option.ofValue("value-1"));
+      assertThat(cache.get(2, _ -> {
+        loads.incrementAndGet();
+        return Option.empty();
+      })).isEqualTo(Option.empty());
+    }
+
+    assertThat(loads).hasValue(2);
+    assertThat(cache.containsKey(2)).isTrue();
+    assertThat(cache.stats()).isEqualTo(new CacheStats(4, 2, 0));
+  }
+
+  @Test
+  void failedLoadIsNotCached() {
+    BoundedCache<Integer, String> cache = new BoundedCache<>(10);
+
+    assertThatThrownBy(() -> cache.get(1, _ -> {
+      throw new IllegalStateException("backend down");
+    })).isExactlyInstanceOf(IllegalStateException.class);
+    assertThat(cache.containsKey(1)).isFalse();
+    assertThat(cache.get(1, _ -> Option.ofValue("ok"))).isEqualTo(Option.ofValue("ok"));
+  }
+
+  @Test
+  void sizeStaysBounded() {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+
+    IntStream.range(0, 10_000).forEach(i -> cache.put(i, i));
+
+    assertThat(cache.size()).isEqualTo(100);
+    assertThat(cache.stats().evictions()).isEqualTo(9_900);
+  }
+
+  @Test
+  void frequentlyUsedEntriesSurviveScan() {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+    List<Integer> hotKeys = IntStream.range(0, 50).boxed().toList();
+    hotKeys.forEach(key -> cache.put(key, key));
+    for (int i = 0; i < 10; i++) {
+      hotKeys.forEach(cache::get);
+    }
+    cache.cleanUp();
+
+    IntStream.range(1_000, 11_000).forEach(key -> cache.put(key, key));
+
+    assertThat(hotKeys.stream().filter(cache::containsKey).count()).isGreaterThanOrEqualTo(45);
+    assertThat(cache.size()).isEqualTo(100);
+  }
+
+  @Test
+  void replacedAndInvalidatedEntries() {
+    BoundedCache<String, Integer> cache = new BoundedCache<>(2);
+    cache.put("a", 1);
+    cache.put("a", 2);
+    cache.put("b", 3);
+    cache.invalidate("b");
+    cache.invalidate("missing");
+
+    assertThat(cache.get("a")).isEqualTo(Option.ofValue(2));
+    assertThat(cache.get("b")).isEqualTo(Option.empty());
+    assertThat(cache.size()).isEqualTo(1);
+
+    cache.put("c", 4);
+    cache.put("d", 5);
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void concurrentLoadsKeepCacheBoundedAndConsistent() {
+    BoundedCache<Integer, Integer> cache = new BoundedCache<>(100);
+    int threads = 8;
+    int lookups = 20_000;
+    try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        SplittableRandom random = new SplittableRandom(t);
+        futures.add(CompletableFuture.runAsync(() -> {
+          for (int i = 0; i < lookups; i++) {
+            int key = (int) Math.min(999, Math.abs(random.nextGaussian() * 100));
+            assertThat(cache.get(key, k -> Option.ofValue(k * 2))).isEqualTo(Option.ofValue(key * 2));
+          }
+        }, executor));
+      }
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+    }
+
+    cache.cleanUp();
+    assertThat(cache.size()).isLessThanOrEqualTo(100);
+    CacheStats stats = cache.stats();
+    assertThat(stats.requests()).isEqualTo((long) threads * lookups);
+    assertThat(stats.hitRate()).isGreaterThan(0.5);
+  }
+
+  @Test
+  void rejectsInvalidArguments() {
+    assertThatThrownBy(() -> new BoundedCache<>(0)).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new BoundedCache<String, String>(1).get("key", _ -> null))
+        .isExactlyInstanceOf(NullPointerException.class);
+  }
+
+}
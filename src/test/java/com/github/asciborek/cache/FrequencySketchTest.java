@@ -0,0 +1,49 @@
+package com.github.asciborek.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class FrequencySketchTest {
+
+  @Test
+  void countsUpToFifteen() {
+    FrequencySketch sketch = new FrequencySketch(512);
+
+    IntStream.range(0, 5).forEach(_ -> sketch.increment("key"));
+    assertThat(sketch.frequency("key")).isEqualTo(5);
+
+    IntStream.range(0, 20).forEach(_ -> sketch.increment("key"));
+    assertThat(sketch.frequency("key")).isEqualTo(15);
+    assertThat(sketch.frequency("other")).isZero();
+  }
+
+  @Test
+  void distinguishesHotFromColdKeys() {
+    FrequencySketch sketch = new FrequencySketch(1_000);
+    for (int i = 0; i < 1_000; i++) {
+      sketch.increment(i);
+      if (i < 100) {
+        IntStream.range(0, 4).forEach(_ -> sketch.increment(-1));
+      }
+    }
+
+    long overestimated = IntStream.range(0, 1_000).filter(i -> sketch.frequency(i) > 1).count();
+    assertThat(sketch.frequency(-1)).isGreaterThan(10);
+    assertThat(overestimated).isLessThan(50);
+  }
+
+  @Test
+  void halvesCountersAfterSampleSize() {
+    FrequencySketch sketch = new FrequencySketch(10);
+    IntStream.range(0, 8).forEach(_ -> sketch.increment("hot"));
+
+    for (int i = 0; sketch.frequency("hot") == 8 && i < 1_000; i++) {
+      sketch.increment(i);
+    }
+
+    assertThat(sketch.frequency("hot")).isEqualTo(4);
+  }
+
+}
@@ -0,0 +1,172 @@
+package com.github.asciborek.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class AsyncCombinatorsTest {
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @Test
+  void firstSuccessfulIgnoresEarlierFailures() throws Exception {
+    CompletableFuture<String> failing = CompletableFuture.supplyAsync(() -> {
+      sleepMillis(10);
+      throw new IllegalStateException("replica down");
+    }, executor);
+    CompletableFuture<String> succeeding = CompletableFuture.supplyAsync(() -> {
+      sleepMillis(100);
+      return "replica";
+    }, executor);
+
+    assertThat(AsyncCombinators.firstSuccessful(List.of(failing, succeeding)).get()).isEqualTo("replica");
+  }
+
+  @Test
+  void firstSuccessfulFailsOnlyWhenAllFail() {
+    CompletableFuture<String> first = CompletableFuture.failedFuture(new IllegalStateException("first"));
+    CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> {
+      sleepMillis(50);
+      throw new IllegalArgumentException("second");
+    }, executor);
+
+    assertThatThrownBy(() -> AsyncCombinators.firstSuccessful(List.of(first, second)).get())
+        .isInstanceOf(ExecutionException.class)
+        .cause().isInstanceOf(IllegalArgumentException.class)
+        .satisfies(cause -> assertThat(cause.getSuppressed()).hasSize(1));
+  }
+
+  @Test
+  void hedgeStartsOnlyAfterDelayAndFirstResultWins() throws Exception {
+    Duration hedgeDelay = Duration.ofMillis(100);
+    AtomicInteger attempts = new AtomicInteger();
+    AtomicLong hedgeStartedNanos = new AtomicLong();
+    CountDownLatch slowAttemptInterrupted = new CountDownLatch(1);
+    long start = System.nanoTime();
+    CompletableFuture<String> hedged = AsyncCombinators.hedged(() -> {
+      if (attempts.incrementAndGet() == 1) {
+        try {
+          Thread.sleep(Duration.ofMinutes(1));
+        } catch (InterruptedException e) {
+          slowAttemptInterrupted.countDown();
+        }
+        return "slow";
+      }
+      hedgeStartedNanos.set(System.nanoTime());
+      return "hedge";
+    }, hedgeDelay, 2, executor);
+
+    assertThat(hedged.get()).isEqualTo("hedge");
+    assertThat(Duration.ofNanos(hedgeStartedNanos.get() - start)).isGreaterThanOrEqualTo(hedgeDelay);
+    assertThat(slowAttemptInterrupted.await(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(attempts).hasValue(2);
+  }
+
+  @Test
+  void noHedgeWhenFirstAttemptSucceedsBeforeDelay() throws Exception {
+    Duration hedgeDelay = Duration.ofMillis(50);
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<Integer> hedged = AsyncCombinators.hedged(attempts::incrementAndGet, hedgeDelay, 3, executor);
+
+    assertThat(hedged.get()).isEqualTo(1);
+    Thread.sleep(hedgeDelay.multipliedBy(3));
+    assertThat(attempts).hasValue(1);
+  }
+
+  @Test
+  void hedgedFailsWhenAllAttemptsFail() {
+    AtomicInteger attempts = new AtomicInteger();
+    CompletableFuture<String> hedged = AsyncCombinators.hedged(() -> {
+      attempts.incrementAndGet();
+      throw new IllegalStateException("backend down");
+    }, Duration.ofMillis(10), 3, executor);
+
+    assertThatThrownBy(hedged::get).cause().isInstanceOf(IllegalStateException.class);
+    assertThat(attempts.get()).isEqualTo(3);
+  }
+
+  @Test
+  void callerInterruptSurvivesTaskRunOnCallerThread() {
+    Thread.currentThread().interrupt();
+    try {
+      CompletableFuture<String> hedged = AsyncCombinators.hedged(() -> "value", Duration.ofSeconds(1), 1, Runnable::run);
+
+      assertThat(hedged).isCompletedWithValue("value");
+      assertThat(Thread.currentThread().isInterrupted()).isTrue();
+    } finally {
+      Thread.interrupted();
+    }
+  }
+
+  @Test
+  void allOfBoundsConcurrencyAndKeepsTaskOrder() throws Exception {
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    List<Supplier<Integer>> tasks = IntStream.range(0, 20).<Supplier<Integer>>mapToObj(i -> () -> {
+      maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+      sleepMillis(20);
+      inFlight.decrementAndGet();
+      return i;
+    }).toList();
+
+    List<Integer> results = AsyncCombinators.allOf(tasks, 4, Duration.ofSeconds(1), executor).get();
+
+    assertThat(results).containsExactlyElementsOf(IntStream.range(0, 20).boxed().toList());
+    assertThat(maxInFlight.get()).isBetween(1, 4);
+  }
+
+  @Test
+  void allOfFailsWhenTaskMissesItsDeadline() {
+    AtomicInteger interrupted = new AtomicInteger();
+    List<Supplier<String>> tasks = List.of(() -> "fast", () -> {
+      try {
+        Thread.sleep(5_000);
+      } catch (InterruptedException e) {
+        interrupted.incrementAndGet();
+      }
+      return "slow";
+    });
+
+    assertThatThrownBy(() -> AsyncCombinators.allOf(tasks, 2, Duration.ofMillis(100), executor).get())
+        .cause().isInstanceOf(TimeoutException.class);
+    Awaitility.await().atMost(Duration.ofSeconds(10)).untilAsserted(() -> assertThat(interrupted.get()).isEqualTo(1));
+  }
+
+  @Test
+  void allOfWithoutTasksIsCompleted() {
+    assertThat(AsyncCombinators.allOf(List.of(), 1, Duration.ofSeconds(1), executor)).isCompletedWithValue(List.of());
+  }
+
+  private static void sleepMillis(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  @AfterAll
+  void shutdownExecutor() {
+    executor.shutdownNow();
+  }
+
+}
@@ -0,0 +1,141 @@
+package com.github.asciborek.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class GCounterTest {
+
+  @Test
+  void nodesConvergeDespiteReorderedAndDuplicatedDeltas() {
+    Random random = new Random(42);
+    List<GCounter> nodes = IntStream.range(0, 5).mapToObj(i -> new GCounter("node-" + i)).toList();
+    List<List<byte[]>> inboxes = nodes.stream().<List<byte[]>>map(_ -> new ArrayList<>()).toList();
+    long total = 0;
+
+    for (int round = 0; round < 50; round++) {
+      for (int i = 0; i < nodes.size(); i++) {
+        int increments = random.nextInt(100);
+        nodes.get(i).add(increments);
+        total += increments;
+        byte[] delta = nodes.get(i).delta();
+        for (int j = 0; j < nodes.size(); j++) {
+          if (j != i) {
+            inboxes.get(j).add(delta);
+            if (random.nextBoolean()) {
+              inboxes.get(j).add(delta);
+            }
+          }
+        }
+      }
+      for (int j = 0; j < nodes.size(); j++) {
+        // some deltas arrive only in a later round, some of the delivered ones arrive again
+        List<byte[]> inbox = inboxes.get(j);
+        Collections.shuffle(inbox, random);
+        int delivered = random.nextInt(inbox.size() / 2 + 1);
+        inbox.subList(0, delivered).forEach(nodes.get(j)::merge);
+        inbox.subList(delivered / 4, delivered).clear();
+      }
+    }
+    for (int j = 0; j < nodes.size(); j++) {
+      inboxes.get(j).forEach(nodes.get(j)::merge);
+    }
+
+    for (GCounter node : nodes) {
+      assertThat(node.value()).isEqualTo(total);
+    }
+  }
+
+  @Test
+  void deltasAreRelayedThroughIntermediateNodes() {
+    GCounter a = new GCounter("a");
+    GCounter b = new GCounter("b");
+    GCounter c = new GCounter("c");
+    a.add(5);
+
+    b.merge(a.delta());
+    c.merge(b.delta());
+
+    assertThat(c.value()).isEqualTo(5);
+    assertThat(a.delta()).as("nothing changed since the last delta").hasSize(2);
+  }
+
+  @Test
+  void mergeIsIdempotentAndCommutative() {
+    GCounter a = new GCounter("a");
+    GCounter b = new GCounter("b");
+    a.add(3);
+    b.add(4);
+    byte[] stateA = a.state();
+    byte[] stateB = b.state();
+
+    GCounter first = new GCounter("x");
+    first.merge(stateA);
+    first.merge(stateB);
+    first.merge(stateA);
+    GCounter second = new GCounter("y");
+    second.merge(stateB);
+    second.merge(stateA);
+
+    assertThat(first.value()).isEqualTo(7).isEqualTo(second.value());
+  }
+
+  @Test
+  void deltaOfOneSlotTakesAFewBytes() {
+    GCounter counter = new GCounter("node-1");
+    counter.add(10_000);
+
+    // type, slot count, id length, 6 id bytes and a 2-byte varint
+    assertThat(counter.delta()).hasSize(11);
+
+    GCounter cluster = new GCounter("node-0");
+    IntStream.range(1, 100).forEach(i -> cluster.merge(singleSlot("node-" + i, 1_000_000)));
+    cluster.delta();
+    cluster.add(1);
+    assertThat(cluster.state().length).isGreaterThan(1_000);
+    assertThat(cluster.delta()).hasSize(10);
+  }
+
+  @Test
+  void concurrentIncrementsAreCounted() throws InterruptedException {
+    GCounter counter = new GCounter("a");
+    GCounter replica = new GCounter("b");
+    try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+      IntStream.range(0, 4).forEach(_ -> executor.submit(() -> IntStream.range(0, 10_000).forEach(_ -> counter.increment())));
+      executor.submit(() -> IntStream.range(0, 1_000).forEach(_ -> replica.merge(counter.delta())));
+      executor.shutdown();
+      assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+    }
+    replica.merge(counter.delta());
+
+    assertThat(counter.value()).isEqualTo(40_000);
+    assertThat(replica.value()).isEqualTo(40_000);
+  }
+
+  @Test
+  void rejectsInvalidInput() {
+    GCounter counter = new GCounter("a");
+
+    assertThatThrownBy(() -> counter.add(-1)).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> counter.merge(new byte[0])).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> counter.merge(new byte[] {CounterCodec.G_COUNTER, 1, 5, 'a'}))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> counter.merge(new PNCounter("b").state())).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static byte[] singleSlot(String node, long value) {
+    GCounter counter = new GCounter(node);
+    counter.add(value);
+    return counter.delta();
+  }
+
+}
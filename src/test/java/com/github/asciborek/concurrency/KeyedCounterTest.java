@@ -0,0 +1,54 @@
+package com.github.asciborek.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.asciborek.concurrency.KeyedCounter.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+
+public class KeyedCounterTest {
+
+  @Test
+  void countsPerKey() {
+    KeyedCounter<String> counter = new KeyedCounter<>();
+    counter.increment("/orders");
+    counter.add("/orders", 4);
+    counter.increment("/users");
+
+    assertThat(counter.get("/orders")).isEqualTo(5);
+    assertThat(counter.get("/users")).isEqualTo(1);
+    assertThat(counter.get("/missing")).isZero();
+    assertThat(counter.size()).isEqualTo(2);
+  }
+
+  @Test
+  void topKReturnsHeaviestKeysInDescendingOrder() {
+    KeyedCounter<Integer> counter = new KeyedCounter<>();
+    for (int key = 1; key <= 1000; key++) {
+      counter.add(key, key);
+    }
+
+    assertThat(counter.topK(3)).containsExactly(new Entry<>(1000, 1000), new Entry<>(999, 999), new Entry<>(998, 998));
+    assertThat(counter.topK(5000)).hasSize(1000);
+    assertThat(counter.topK(Integer.MAX_VALUE)).hasSize(1000);
+    assertThatThrownBy(() -> counter.topK(0)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void concurrentIncrementsUnderKeySkew() {
+    KeyedCounter<Integer> counter = new KeyedCounter<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 100_000; i++) {
+        int key = i % 2 == 0 ? 0 : i % 1000;
+        executor.execute(() -> counter.increment(key));
+      }
+    }
+
+    assertThat(counter.get(0)).isEqualTo(50_000);
+    assertThat(counter.get(1)).isEqualTo(100);
+    assertThat(counter.topK(1)).containsExactly(new Entry<>(0, 50_000));
+  }
+
+}
@@ -0,0 +1,186 @@
+package com.github.asciborek.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MappedCounterRegistryTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void countersSurviveReopening() throws IOException {
+    Path file = directory.resolve("counters.bin");
+    try (MappedCounterRegistry registry = MappedCounterRegistry.open(file, 16)) {
+      registry.counter("orders").incrementAndGet();
+      registry.counter("orders").addAndGet(41);
+      registry.counter("zażółć").incrementAndGet();
+    }
+
+    try (MappedCounterRegistry registry = MappedCounterRegistry.open(file, 1)) {
+      assertThat(registry.capacity()).isEqualTo(16);
+      assertThat(registry.snapshot()).containsExactly(Map.entry("orders", 42L), Map.entry("zażółć", 1L));
+      assertThat(registry.counter("orders").incrementAndGet()).isEqualTo(43);
+      assertThat(registry.counter("new").get()).isZero();
+    }
+  }
+
+  @Test
+  void concurrentIncrementsAreAtomic() throws Exception {
+    try (MappedCounterRegistry registry = MappedCounterRegistry.open(directory.resolve("counters.bin"), 4);
+        ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      for (int t = 0; t < 8; t++) {
+        executor.submit(() -> IntStream.range(0, 100_000).forEach(i -> registry.counter(i % 2 == 0 ? "even" : "odd").incrementAndGet()));
+      }
+      executor.shutdown();
+      assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+      assertThat(registry.snapshot()).containsOnly(Map.entry("even", 400_000L), Map.entry("odd", 400_000L));
+    }
+  }
+
+  @Test
+  void secondMappingSeesConsistentValuesMidRun() throws Exception {
+    Path file = directory.resolve("counters.bin");
+    try (MappedCounterRegistry writer = MappedCounterRegistry.open(file, 4, Duration.ofMillis(5))) {
+      MappedCounter counter = writer.counter("events");
+      AtomicBoolean running = new AtomicBoolean(true);
+      Thread incrementer = Thread.ofPlatform().start(() -> {
+        while (running.get()) {
+          counter.incrementAndGet();
+        }
+      });
+      long previous = 0;
+      for (int i = 0; i < 20; i++) {
+        try (MappedCounterRegistry reader = MappedCounterRegistry.open(file, 4)) {
+          long value = reader.counter("events").get();
+          assertThat(value).isGreaterThanOrEqualTo(previous).isLessThanOrEqualTo(counter.get());
+          previous = value;
+        }
+      }
+      running.set(false);
+      incrementer.join();
+      assertThat(previous).isPositive();
+    }
+  }
+
+  @Test
+  void mappingsOfOneFileShareRegistrations() throws Exception {
+    Path file = directory.resolve("counters.bin");
+    try (MappedCounterRegistry first = MappedCounterRegistry.open(file, 64);
+        MappedCounterRegistry second = MappedCounterRegistry.open(file, 64)) {
+      second.counter("registered-after-open").addAndGet(5);
+      assertThat(first.counter("registered-after-open").incrementAndGet()).isEqualTo(6);
+
+      try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+        for (int t = 0; t < 8; t++) {
+          MappedCounterRegistry registry = t % 2 == 0 ? first : second;
+          executor.submit(() -> IntStream.range(0, 32).forEach(i -> registry.counter("name-" + i).incrementAndGet()));
+        }
+      }
+
+      assertThat(first.snapshot()).hasSize(33).isEqualTo(second.snapshot())
+          .containsEntry("registered-after-open", 6L).containsEntry("name-0", 8L).containsEntry("name-31", 8L);
+    }
+  }
+
+  @Test
+  void registrationFromInterruptedThreadKeepsRegistryUsable() throws Exception {
+    try (MappedCounterRegistry registry = MappedCounterRegistry.open(directory.resolve("counters.bin"), 4)) {
+      AtomicBoolean stillInterrupted = new AtomicBoolean();
+      Thread registering = Thread.ofPlatform().start(() -> {
+        Thread.currentThread().interrupt();
+        registry.counter("from-interrupted").incrementAndGet();
+        stillInterrupted.set(Thread.currentThread().isInterrupted());
+      });
+      registering.join();
+
+      assertThat(stillInterrupted).isTrue();
+      registry.counter("afterwards").incrementAndGet();
+      assertThat(registry.snapshot()).containsExactly(Map.entry("from-interrupted", 1L), Map.entry("afterwards", 1L));
+    }
+  }
+
+  @Test
+  void valuesSurviveKilledProcess() throws Exception {
+    Path file = directory.resolve("counters.bin");
+    List<String> command = new ArrayList<>();
+    command.add(ProcessHandle.current().info().command().orElseThrow());
+    ManagementFactory.getRuntimeMXBean().getInputArguments().stream()
+        .filter(argument -> argument.equals("--enable-preview"))
+        .forEach(command::add);
+    command.addAll(List.of("-cp", System.getProperty("java.class.path"), CrashingIncrementer.class.getName(), file.toString()));
+    Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+    long acknowledged = 0;
+    try (BufferedReader output = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+      for (int seen = 0; seen < 5; ) {
+        String line = output.readLine();
+        assertThat(line).as("child output").isNotNull();
+        if (!line.isEmpty() && line.chars().allMatch(Character::isDigit)) { // skip JVM warnings
+          acknowledged = Long.parseLong(line);
+          seen++;
+        }
+      }
+      process.destroyForcibly();
+      await().atMost(Duration.ofSeconds(10)).until(() -> !process.isAlive());
+    }
+
+    try (MappedCounterRegistry registry = MappedCounterRegistry.open(file, 4)) {
+      assertThat(registry.snapshot()).containsOnlyKeys("events", "registered-after-start");
+      assertThat(registry.counter("events").get()).isGreaterThanOrEqualTo(acknowledged);
+    }
+  }
+
+  @Test
+  void rejectsInvalidUse() throws IOException {
+    Path file = directory.resolve("counters.bin");
+    try (MappedCounterRegistry registry = MappedCounterRegistry.open(file, 1)) {
+      registry.counter("only");
+      assertThatThrownBy(() -> registry.counter("another")).isExactlyInstanceOf(IllegalStateException.class);
+      assertThatThrownBy(() -> registry.counter("x".repeat(56))).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+    Path garbage = Files.writeString(directory.resolve("garbage.bin"), "not a registry");
+    assertThatThrownBy(() -> MappedCounterRegistry.open(garbage, 1)).isInstanceOf(IOException.class);
+    assertThatThrownBy(() -> MappedCounterRegistry.open(file, 0)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   * Increments a counter in a loop and prints acknowledged values until it is killed.
+   */
+  static final class CrashingIncrementer {
+
+    public static void main(String[] args) throws IOException {
+      MappedCounterRegistry registry = MappedCounterRegistry.open(Path.of(args[0]), 4, Duration.ofMillis(1));
+      MappedCounter counter = registry.counter("events");
+      registry.counter("registered-after-start");
+      while (true) {
+        long value = counter.incrementAndGet();
+        if (value % 100_000 == 0) {
+          System.out.println(value);
+        }
+      }
+    }
+
+  }
+
+}
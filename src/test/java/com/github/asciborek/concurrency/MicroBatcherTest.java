@@ -0,0 +1,198 @@
+package com.github.asciborek.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.asciborek.stream.Currency;
+import com.github.asciborek.stream.Money;
+import com.github.asciborek.stream.MoneyRunningTotals;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.Test;
+
+public class MicroBatcherTest {
+
+  @Test
+  void flushesWhenBatchIsFull() throws Exception {
+    List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    try (MicroBatcher<Integer> batcher = new MicroBatcher<>(batch -> batchSizes.add(batch.size()), 10, Duration.ofSeconds(30), 100)) {
+      List<CompletableFuture<Void>> futures = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        futures.add(batcher.submit(i));
+      }
+      CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get();
+    }
+    assertThat(batchSizes).hasSize(10).containsOnly(10);
+  }
+
+  @Test
+  void flushesAfterLingerTime() throws Exception {
+    List<List<String>> batches = new CopyOnWriteArrayList<>();
+    try (MicroBatcher<String> batcher = new MicroBatcher<>(batches::add, 100, Duration.ofMillis(50), 100)) {
+      CompletableFuture<Void> first = batcher.submit("a");
+      batcher.submit("b");
+      batcher.submit("c");
+      Awaitility.await().atMost(Duration.ofSeconds(1)).until(first::isDone);
+    }
+    assertThat(batches).containsExactly(List.of("a", "b", "c"));
+  }
+
+  @Test
+  void blocksProducersWhenQueueIsFull() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Consumer<List<Integer>> blockedHandler = _ -> {
+      entered.countDown();
+      awaitQuietly(release);
+    };
+    try (MicroBatcher<Integer> batcher = new MicroBatcher<>(blockedHandler, 1, Duration.ofMillis(1), 2)) {
+      batcher.submit(0);
+      entered.await();
+      batcher.submit(1);
+      batcher.submit(2);
+      Thread blockedProducer = Thread.ofVirtual().start(() -> submitQuietly(batcher, 3));
+
+      Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> blockedProducer.getState() == Thread.State.WAITING);
+
+      release.countDown();
+      blockedProducer.join(Duration.ofSeconds(1));
+      assertThat(blockedProducer.isAlive()).isFalse();
+    }
+  }
+
+  @Test
+  void handlerFailureFailsItsBatch() throws Exception {
+    try (MicroBatcher<Integer> batcher = new MicroBatcher<>(_ -> {
+      throw new IllegalStateException("ledger unavailable");
+    }, 10, Duration.ofMillis(10), 10)) {
+      CompletableFuture<Void> future = batcher.submit(1);
+      assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class)
+          .cause().isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void handlerErrorFailsItsBatchAndKeepsWorkerAlive() throws Exception {
+    AtomicInteger calls = new AtomicInteger();
+    try (MicroBatcher<Integer> batcher = new MicroBatcher<>(_ -> {
+      if (calls.incrementAndGet() == 1) {
+        throw new AssertionError("handler bug");
+      }
+    }, 1, Duration.ofMillis(1), 1)) {
+      CompletableFuture<Void> failed = batcher.submit(1);
+      assertThatThrownBy(failed::get).isInstanceOf(ExecutionException.class)
+          .cause().isInstanceOf(AssertionError.class);
+
+      CompletableFuture<Void> next = batcher.submit(2);
+      next.get(1, TimeUnit.SECONDS);
+    }
+    assertThat(calls).hasValue(2);
+  }
+
+  @Test
+  void interruptedCloseStillShutsDownTheWorker() throws Exception {
+    CountDownLatch entered = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    Consumer<List<Integer>> blockedHandler = _ -> {
+      entered.countDown();
+      awaitQuietly(release);
+    };
+    MicroBatcher<Integer> batcher = new MicroBatcher<>(blockedHandler, 1, Duration.ofMillis(1), 1);
+    batcher.submit(0);
+    entered.await();
+    CompletableFuture<Void> queued = batcher.submit(1);
+    AtomicBoolean interruptKept = new AtomicBoolean();
+    Thread closer = Thread.ofPlatform().start(() -> {
+      try {
+        batcher.close();
+        // join() only notices the restored interrupt if the worker is still running
+        interruptKept.set(Thread.currentThread().isInterrupted());
+      } catch (InterruptedException e) {
+        interruptKept.set(true);
+      }
+    });
+    Awaitility.await().atMost(Duration.ofSeconds(5)).until(() -> closer.getState() == Thread.State.WAITING);
+
+    closer.interrupt();
+    release.countDown();
+    closer.join();
+    batcher.close();
+
+    assertThat(interruptKept).isTrue();
+    assertThat(queued).isCompleted();
+  }
+
+  @Test
+  void closeHandlesPendingItemsAndRejectsNewOnes() throws Exception {
+    List<Integer> handled = new CopyOnWriteArrayList<>();
+    MicroBatcher<Integer> batcher = new MicroBatcher<>(handled::addAll, 100, Duration.ofSeconds(30), 100);
+    CompletableFuture<Void> pending = batcher.submit(1);
+    batcher.close();
+
+    assertThat(pending).isCompleted();
+    assertThat(handled).containsExactly(1);
+    assertThatThrownBy(() -> batcher.submit(2)).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  @Test
+  void batchingMoneyIngestionCutsDownstreamCalls() throws Exception {
+    int events = 2_000;
+    MoneyRunningTotals expected = new MoneyRunningTotals();
+    for (int i = 0; i < events; i++) {
+      expected.add(money(i));
+    }
+
+    AtomicInteger calls = new AtomicInteger();
+    MoneyRunningTotals batchedTotals = new MoneyRunningTotals();
+    Consumer<List<Money>> sink = batch -> {
+      calls.incrementAndGet();
+      batch.forEach(batchedTotals::add);
+    };
+    // linger far longer than the test, so only full batches are flushed
+    try (MicroBatcher<Money> batcher = new MicroBatcher<>(sink, 500, Duration.ofMinutes(10), 1000);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < events; i++) {
+        Money money = money(i);
+        executor.execute(() -> submitQuietly(batcher, money).join());
+      }
+    }
+
+    assertThat(batchedTotals.sumByCurrency()).isEqualTo(expected.sumByCurrency());
+    assertThat(calls).hasValue(events / 500);
+  }
+
+  private static Money money(int i) {
+    return new Money(BigDecimal.valueOf(i, 2), Currency.values()[i % Currency.values().length]);
+  }
+
+  private static <T> CompletableFuture<Void> submitQuietly(MicroBatcher<T> batcher, T item) {
+    try {
+      return batcher.submit(item);
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+}
@@ -0,0 +1,96 @@
+package com.github.asciborek.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+public class PNCounterTest {
+
+  @Test
+  void countsUpAndDown() {
+    PNCounter counter = new PNCounter("a");
+    counter.increment();
+    counter.add(10);
+    counter.decrement();
+    counter.add(-4);
+
+    assertThat(counter.value()).isEqualTo(6);
+    assertThatThrownBy(() -> counter.add(Long.MIN_VALUE)).isExactlyInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void nodesConvergeDespiteReorderedAndDuplicatedDeltas() {
+    Random random = new Random(7);
+    List<PNCounter> nodes = IntStream.range(0, 4).mapToObj(i -> new PNCounter("node-" + i)).toList();
+    List<List<byte[]>> inboxes = nodes.stream().<List<byte[]>>map(_ -> new ArrayList<>()).toList();
+    long total = 0;
+    long deltaBytes = 0;
+    long deltaCount = 0;
+
+    for (int round = 0; round < 100; round++) {
+      for (int i = 0; i < nodes.size(); i++) {
+        long summand = random.nextInt(201) - 100;
+        nodes.get(i).add(summand);
+        total += summand;
+        byte[] delta = nodes.get(i).delta();
+        deltaBytes += delta.length;
+        deltaCount++;
+        for (int j = 0; j < nodes.size(); j++) {
+          if (j != i) {
+            inboxes.get(j).add(delta);
+          }
+        }
+      }
+      for (int j = 0; j < nodes.size(); j++) {
+        // deliver a random part of the inbox in random order; a quarter of it stays around to be delivered again
+        List<byte[]> inbox = inboxes.get(j);
+        Collections.shuffle(inbox, random);
+        int delivered = random.nextInt(inbox.size() + 1);
+        inbox.subList(0, delivered).forEach(nodes.get(j)::merge);
+        inbox.subList(delivered / 4, delivered).clear();
+      }
+    }
+    for (int j = 0; j < nodes.size(); j++) {
+      inboxes.get(j).forEach(nodes.get(j)::merge);
+    }
+
+    for (PNCounter node : nodes) {
+      assertThat(node.value()).isEqualTo(total);
+    }
+    // a delta carries the changed slot of its node plus slots relayed from merges, far less than a full state
+    assertThat((double) deltaBytes / deltaCount).isLessThan(nodes.get(0).state().length);
+  }
+
+  @Test
+  void mergeOfCounterObjects() {
+    PNCounter a = new PNCounter("a");
+    PNCounter b = new PNCounter("b");
+    a.add(10);
+    b.add(-3);
+
+    a.merge(b);
+    a.merge(b);
+    b.merge(a.state());
+
+    assertThat(a.value()).isEqualTo(7);
+    assertThat(b.value()).isEqualTo(7);
+  }
+
+  @Test
+  void rejectsOtherEncodings() {
+    PNCounter counter = new PNCounter("a");
+    GCounter gCounter = new GCounter("b");
+    gCounter.increment();
+
+    assertThatThrownBy(() -> counter.merge(gCounter.delta())).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> counter.merge(new byte[] {CounterCodec.PN_COUNTER, 0}))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+}
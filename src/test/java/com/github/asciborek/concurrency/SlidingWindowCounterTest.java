@@ -0,0 +1,88 @@
+package com.github.asciborek.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.InstantSource;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+public class SlidingWindowCounterTest {
+
+  private final AtomicLong millis = new AtomicLong(1_000_000);
+  private final InstantSource clock = () -> Instant.ofEpochMilli(millis.get());
+
+  @Test
+  void rejectsInvalidConfiguration() {
+    assertThatThrownBy(() -> new SlidingWindowCounter(Duration.ofSeconds(1), 0, clock))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new SlidingWindowCounter(Duration.ofMillis(5), 10, clock))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new SlidingWindowCounter(Duration.ofSeconds(1), 3, clock))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new SlidingWindowCounter(Duration.ofNanos(10_000_500), 10, clock))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void countsEventsInRequestedWindow() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(60), 60, clock);
+    for (int second = 0; second < 60; second++) {
+      counter.add(second + 1);
+      millis.addAndGet(1000);
+    }
+    millis.addAndGet(-1000);
+
+    assertThat(counter.count(Duration.ofSeconds(1))).isEqualTo(60);
+    assertThat(counter.count(Duration.ofSeconds(10))).isEqualTo(51 + 52 + 53 + 54 + 55 + 56 + 57 + 58 + 59 + 60);
+    assertThat(counter.count(Duration.ofSeconds(60))).isEqualTo(60 * 61 / 2);
+    assertThat(counter.ratePerSecond(Duration.ofSeconds(60))).isEqualTo(30.5);
+  }
+
+  @Test
+  void oldEventsExpire() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(10), 10, clock);
+    counter.add(5);
+    millis.addAndGet(5_000);
+    counter.add(3);
+    assertThat(counter.count(Duration.ofSeconds(10))).isEqualTo(8);
+
+    millis.addAndGet(5_000);
+    assertThat(counter.count(Duration.ofSeconds(10))).isEqualTo(3);
+
+    millis.addAndGet(60_000);
+    assertThat(counter.count(Duration.ofSeconds(10))).isZero();
+  }
+
+  @Test
+  void reusedBucketStartsFromZero() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(2), 2, clock);
+    counter.add(7);
+    millis.addAndGet(2_000);
+    counter.increment();
+    assertThat(counter.count(Duration.ofSeconds(1))).isEqualTo(1);
+    assertThat(counter.count(Duration.ofSeconds(2))).isEqualTo(1);
+  }
+
+  @Test
+  void concurrentIncrementsFromVirtualThreads() {
+    SlidingWindowCounter counter = new SlidingWindowCounter(Duration.ofSeconds(60), 60, clock);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 100_000; i++) {
+        int event = i;
+        executor.execute(() -> {
+          if (event % 10_000 == 0) {
+            millis.addAndGet(1000);
+          }
+          counter.increment();
+        });
+      }
+    }
+    assertThat(counter.count(Duration.ofSeconds(60))).isEqualTo(100_000);
+  }
+
+}
@@ -0,0 +1,63 @@
+package com.github.asciborek.concurrency;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.awaitility.Awaitility;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class StripedCounterTest {
+
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  @Test
+  void rejectsNegativeInitialValue() {
+    assertThatThrownBy(() -> new StripedCounter(-1)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void incrementCounter() {
+    StripedCounter counter = new StripedCounter(5);
+    counter.increment();
+    counter.add(10);
+    assertThat(counter.sum()).isEqualTo(16);
+  }
+
+  @Test
+  void supportsLongRange() {
+    StripedCounter counter = new StripedCounter(Integer.MAX_VALUE);
+    counter.add(Integer.MAX_VALUE);
+    assertThat(counter.sum()).isEqualTo(2L * Integer.MAX_VALUE);
+  }
+
+  @Test
+  void sumThenResetStartsFromZero() {
+    StripedCounter counter = new StripedCounter(3);
+    counter.increment();
+    assertThat(counter.sumThenReset()).isEqualTo(4);
+    assertThat(counter.sum()).isZero();
+  }
+
+  @Test
+  void concurrentIncrementCounter() {
+    StripedCounter counter = new StripedCounter();
+    for (int i = 0; i < 10000; i++) {
+      executor.execute(counter::increment);
+    }
+    Awaitility.await().pollDelay(Duration.ofMillis(100))
+        .untilAsserted(() -> assertThat(counter.sum()).isEqualTo(10000));
+  }
+
+  @AfterAll
+  void shutdownExecutor() {
+    executor.shutdownNow();
+  }
+
+}
@@ -0,0 +1,102 @@
+package com.github.asciborek.generics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class LazyOptionTest {
+
+  @Test
+  void supplierIsNotCalledUntilValueIsNeeded() {
+    AtomicInteger calls = new AtomicInteger();
+    Option<String> option = Option.lazy(() -> {
+      calls.incrementAndGet();
+      return "value";
+    });
+
+    Option<Integer> mapped = option.map(String::length).filter(length -> length > 3);
+
+    assertThat(calls.get()).isZero();
+    assertThat(mapped.orElse(0)).isEqualTo(5);
+    assertThat(calls.get()).isEqualTo(1);
+  }
+
+  @Test
+  void valueIsMemoized() {
+    AtomicInteger calls = new AtomicInteger();
+    Option<Integer> option = Option.lazy(calls::incrementAndGet);
+
+    assertThat(option.orElse(0)).isEqualTo(1);
+    assertThat(option.orElse(0)).isEqualTo(1);
+    assertThat(((Lazy<Integer>) option).isEvaluated()).isTrue();
+  }
+
+  @Test
+  void nullFromSupplierIsEmpty() {
+    Option<String> option = Option.lazy(() -> null);
+    assertThat(option.isPresent()).isFalse();
+    assertThat(option.orElseGet(() -> "default")).isEqualTo("default");
+  }
+
+  @Test
+  void concurrentCallersEvaluateSupplierOnce() throws InterruptedException {
+    AtomicInteger calls = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    Option<Integer> option = Option.lazy(() -> {
+      awaitQuietly(release);
+      return calls.incrementAndGet();
+    });
+    AtomicInteger sum = new AtomicInteger();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < 100; i++) {
+        executor.execute(() -> option.ifPresent(sum::addAndGet));
+      }
+      Thread.sleep(50);
+      release.countDown();
+    }
+
+    assertThat(calls.get()).isEqualTo(1);
+    assertThat(sum.get()).isEqualTo(100);
+  }
+
+  @ParameterizedTest
+  @MethodSource("equalsTestParameters")
+  void lazyEqualsWhatItEvaluatesTo(Option<String> option, Object other, boolean expected) {
+    assertThat(option.equals(other)).isEqualTo(expected);
+    if (other != null) {
+      assertThat(other.equals(option)).isEqualTo(expected);
+    }
+    if (expected) {
+      assertThat(option.hashCode()).isEqualTo(other.hashCode());
+    }
+  }
+
+  static Stream<Arguments> equalsTestParameters() {
+    return Stream.of(
+        Arguments.of(Option.lazy(() -> "Java"), Option.ofValue("Java"), true),
+        Arguments.of(Option.lazy(() -> "Java"), Option.lazy(() -> "Java"), true),
+        Arguments.of(Option.lazy(() -> "Java"), Option.ofValue("Scala"), false),
+        Arguments.of(Option.lazy(() -> null), Option.empty(), true),
+        Arguments.of(Option.lazy(() -> "Java").filter(String::isEmpty), Option.empty(), true),
+        Arguments.of(Option.lazy(() -> "Java"), Option.empty(), false),
+        Arguments.of(Option.lazy(() -> "Java"), null, false));
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+}
@@ -0,0 +1,85 @@
+package com.github.asciborek.generics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class PrimitiveOptionTest {
+
+  @Test
+  void emptyOptionsAreSharedSingletons() {
+    assertThat(OptionInt.empty()).isSameAs(OptionInt.empty()).isExactlyInstanceOf(EmptyInt.class);
+    assertThat(OptionLong.empty()).isSameAs(OptionLong.empty()).isExactlyInstanceOf(EmptyLong.class);
+    assertThat(OptionDouble.empty()).isSameAs(OptionDouble.empty()).isExactlyInstanceOf(EmptyDouble.class);
+  }
+
+  @Test
+  void mapAndFilterChainOnInt() {
+    OptionInt option = OptionInt.ofValue(21).map(value -> value * 2).filter(value -> value % 2 == 0);
+    assertThat(option.isPresent()).isTrue();
+    assertThat(((SomeInt) option).get()).isEqualTo(42);
+    assertThat(OptionInt.ofValue(21).filter(value -> value % 2 == 0).orElse(-1)).isEqualTo(-1);
+  }
+
+  @Test
+  void mapsBetweenPrimitiveOptions() {
+    OptionDouble option = OptionInt.ofValue(Integer.MAX_VALUE)
+        .mapToLong(value -> value + 1L)
+        .mapToDouble(value -> value / 2.0);
+    assertThat(option).isEqualTo(OptionDouble.ofValue(1L << 30));
+    assertThat(option.mapToInt(value -> (int) value).mapToObj(Integer::toString)).isEqualTo(Option.ofValue("1073741824"));
+  }
+
+  @Test
+  void mapsGenericOptionToPrimitiveOption() {
+    assertThat(Option.ofValue("java").mapToInt(String::length)).isEqualTo(OptionInt.ofValue(4));
+    assertThat(Option.<String>empty().mapToLong(String::length)).isSameAs(OptionLong.empty());
+    assertThat(Option.ofValue("1.5").mapToDouble(Double::parseDouble)).isEqualTo(OptionDouble.ofValue(1.5));
+  }
+
+  @Test
+  void emptyOptionsDoNotCallMappersOrConsumers() {
+    AtomicInteger calls = new AtomicInteger();
+    OptionLong.empty()
+        .map(value -> calls.incrementAndGet())
+        .filter(value -> calls.incrementAndGet() > 0)
+        .ifPresent(value -> calls.incrementAndGet());
+    assertThat(calls.get()).isZero();
+    assertThat(OptionLong.empty().orElseGet(() -> 7L)).isEqualTo(7L);
+  }
+
+  @Test
+  void orElseThrowThrowsExceptionOnEmptyOption() {
+    assertThatThrownBy(() -> OptionDouble.empty().orElseThrow(() -> new IllegalStateException("Empty Option!")))
+        .isExactlyInstanceOf(IllegalStateException.class);
+    assertThat(OptionDouble.ofValue(0.5).orElseThrow(IllegalStateException::new)).isEqualTo(0.5);
+  }
+
+  @ParameterizedTest
+  @MethodSource("equalsTestParameters")
+  void equalsOnlyTheSameKindWithTheSameValue(Object option, Object other, boolean expected) {
+    assertThat(option.equals(other)).isEqualTo(expected);
+    if (expected) {
+      assertThat(option.hashCode()).isEqualTo(other.hashCode());
+    }
+  }
+
+  static Stream<Arguments> equalsTestParameters() {
+    return Stream.of(
+        Arguments.of(OptionInt.ofValue(1), OptionInt.ofValue(1), true),
+        Arguments.of(OptionInt.ofValue(1), OptionLong.ofValue(1), false),
+        Arguments.of(OptionInt.ofValue(1), Option.ofValue(1), false),
+        Arguments.of(OptionLong.ofValue(1), OptionLong.ofValue(2), false),
+        Arguments.of(OptionDouble.ofValue(Double.NaN), OptionDouble.ofValue(Double.NaN), true),
+        Arguments.of(OptionInt.empty(), OptionInt.empty(), true),
+        Arguments.of(OptionInt.empty(), OptionLong.empty(), false),
+        Arguments.of(OptionDouble.empty(), null, false));
+  }
+
+}
@@ -0,0 +1,62 @@
+package com.github.asciborek.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class LatencyHistogramTest {
+
+  @ParameterizedTest
+  @ValueSource(longs = {0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789, Long.MAX_VALUE})
+  void bucketContainsValueWithinRelativeErrorBound(long value) {
+    long highest = LatencyHistogram.highestValueIn(LatencyHistogram.bucketIndex(value));
+    assertThat(highest).isGreaterThanOrEqualTo(value);
+    assertThat(highest - value).isLessThanOrEqualTo(value / 16);
+  }
+
+  @Test
+  void bucketsAreContiguous() {
+    for (int bucket = 1; bucket < LatencyHistogram.bucketIndex(Long.MAX_VALUE); bucket++) {
+      assertThat(LatencyHistogram.bucketIndex(LatencyHistogram.highestValueIn(bucket - 1) + 1)).isEqualTo(bucket);
+    }
+  }
+
+  @Test
+  void emptyHistogramReportsZeros() {
+    assertThat(new LatencyHistogram().snapshot()).isEqualTo(new HistogramSnapshot(0, 0, 0, 0, 0));
+  }
+
+  @Test
+  void reportsQuantilesWithinErrorBound() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    for (long value = 1; value <= 100_000; value++) {
+      histogram.record(value);
+    }
+
+    HistogramSnapshot snapshot = histogram.snapshot();
+
+    assertThat(snapshot.count()).isEqualTo(100_000);
+    assertThat(snapshot.max()).isEqualTo(100_000);
+    assertThat(snapshot.p50()).isBetween(50_000L, 50_000L + 50_000 / 16);
+    assertThat(snapshot.p99()).isBetween(99_000L, 100_000L);
+    assertThat(snapshot.p999()).isBetween(99_900L, 100_000L);
+  }
+
+  @Test
+  void concurrentRecordsAreNotLost() {
+    LatencyHistogram histogram = new LatencyHistogram();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int thread = 0; thread < 100; thread++) {
+        int seed = thread;
+        executor.execute(() -> new SplittableRandom(seed).longs(1_000, 0, 1_000_000).forEach(histogram::record));
+      }
+    }
+    assertThat(histogram.snapshot().count()).isEqualTo(100_000);
+  }
+
+}
@@ -0,0 +1,66 @@
+package com.github.asciborek.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.asciborek.stream.Currency;
+import com.github.asciborek.stream.Money;
+import com.github.asciborek.stream.MoneyUtil;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class MetricsTest {
+
+  @Test
+  void disabledComponentRecordsNothing() {
+    Component component = Metrics.component("disabledComponent");
+    Timer timer = component.timer("operation");
+    Counter counter = component.counter("calls");
+
+    timer.stop(timer.start());
+    counter.increment();
+
+    assertThat(component.snapshot().timers().get("operation").count()).isZero();
+    assertThat(counter.count()).isZero();
+  }
+
+  @Test
+  void enabledComponentRecordsLatenciesAndCounts() {
+    Component component = Metrics.component("enabledComponent");
+    component.enable();
+    Timer timer = component.timer("operation");
+
+    for (int i = 0; i < 10; i++) {
+      long start = timer.start();
+      component.counter("calls").increment();
+      timer.stop(start);
+    }
+
+    ComponentSnapshot snapshot = component.snapshot();
+    assertThat(snapshot.enabled()).isTrue();
+    assertThat(snapshot.timers().get("operation").count()).isEqualTo(10);
+    assertThat(snapshot.counters()).containsEntry("calls", 10L);
+    assertThat(Metrics.dump())
+        .containsPattern("enabledComponent\\.operation count=10 p50=\\d+\\.\\dus p99=\\d+\\.\\dus p999=\\d+\\.\\dus max=\\d+\\.\\dus")
+        .contains("enabledComponent.calls count=10");
+  }
+
+  @Test
+  void moneyUtilIsInstrumentedWhenEnabled() {
+    Component component = Metrics.component("MoneyUtil");
+    long before = component.timer("sumAmountByCurrency").snapshot().count();
+    long moniesBefore = component.counter("moniesAggregated").count();
+    List<Money> monies = List.of(Money.of("1.00", Currency.PLN), Money.of("2.00", Currency.USD));
+
+    component.enable();
+    try {
+      MoneyUtil.sumAmountByCurrency(monies);
+    } finally {
+      component.disable();
+    }
+    MoneyUtil.sumAmountByCurrency(monies);
+
+    assertThat(component.timer("sumAmountByCurrency").snapshot().count()).isEqualTo(before + 1);
+    assertThat(component.counter("moniesAggregated").count()).isEqualTo(moniesBefore + 2);
+  }
+
+}
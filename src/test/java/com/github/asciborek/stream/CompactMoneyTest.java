@@ -0,0 +1,65 @@
+package com.github.asciborek.stream;
+
+import static com.github.asciborek.stream.Currency.PLN;
+import static com.github.asciborek.stream.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class CompactMoneyTest {
+
+  static Stream<Arguments> conversionArguments() {
+    return Stream.of(
+        Arguments.of(Money.of("10.0", PLN), 1000L),
+        Arguments.of(Money.of("0.01", USD), 1L),
+        Arguments.of(Money.of("-15.25", USD), -1525L),
+        Arguments.of(Money.of("1E+3", PLN), 100000L)
+    );
+  }
+
+  @ParameterizedTest
+  @MethodSource("conversionArguments")
+  void convertsMoneyToMinorUnitsAndBack(Money money, long expectedMinorUnits) {
+    CompactMoney compact = CompactMoney.of(money);
+    assertThat(compact.minorUnits()).isEqualTo(expectedMinorUnits);
+    assertThat(compact.toMoney().currency()).isEqualTo(money.currency());
+    assertThat(compact.toMoney().amount()).isEqualByComparingTo(money.amount());
+  }
+
+  @Test
+  void rejectsAmountsBelowMinorUnit() {
+    assertThatThrownBy(() -> CompactMoney.of("10.005", PLN)).isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void rejectsAmountsOutOfLongRange() {
+    assertThatThrownBy(() -> CompactMoney.of(new Money(BigDecimal.valueOf(Long.MAX_VALUE), PLN)))
+        .isInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void addsAndSubtractsSameCurrency() {
+    CompactMoney sum = CompactMoney.of("10.50", PLN).add(CompactMoney.of("0.75", PLN));
+    assertThat(sum).isEqualTo(new CompactMoney(1125, PLN));
+    assertThat(sum.subtract(CompactMoney.of("1.25", PLN))).isEqualTo(new CompactMoney(1000, PLN));
+  }
+
+  @Test
+  void additionIsOverflowChecked() {
+    CompactMoney max = new CompactMoney(Long.MAX_VALUE, PLN);
+    assertThatThrownBy(() -> max.add(new CompactMoney(1, PLN))).isExactlyInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void rejectsArithmeticOnDifferentCurrencies() {
+    assertThatThrownBy(() -> CompactMoney.of("1", PLN).add(CompactMoney.of("1", USD)))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+}
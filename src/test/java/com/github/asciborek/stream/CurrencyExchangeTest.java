@@ -0,0 +1,91 @@
+package com.github.asciborek.stream;
+
+import static com.github.asciborek.stream.Currency.EURO;
+import static com.github.asciborek.stream.Currency.GBP;
+import static com.github.asciborek.stream.Currency.PLN;
+import static com.github.asciborek.stream.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.asciborek.generics.Option;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class CurrencyExchangeTest {
+
+  private final ExchangeRates rates = ExchangeRates.empty()
+      .withRate(EURO, PLN, new BigDecimal("4.25"))
+      .withRate(USD, PLN, new BigDecimal("4.00"));
+
+  @Test
+  void derivesIdentityInverseAndCrossRates() {
+    assertThat(rates.rate(PLN, PLN)).isEqualTo(Option.ofValue(BigDecimal.ONE));
+    assertThat(rates.rate(PLN, USD)).isEqualTo(Option.ofValue(new BigDecimal("0.25")));
+    assertThat(rates.rate(EURO, USD).orElse(null)).isEqualByComparingTo("1.0625");
+    assertThat(rates.rate(GBP, PLN).isPresent()).isFalse();
+  }
+
+  @Test
+  void quotedRateReplacesDerivedInverse() {
+    ExchangeRates updated = rates.withRate(PLN, USD, new BigDecimal("0.26"));
+    assertThat(updated.rate(PLN, USD)).isEqualTo(Option.ofValue(new BigDecimal("0.26")));
+    assertThat(updated.rate(USD, PLN).orElse(null)).isEqualByComparingTo(BigDecimal.ONE.divide(new BigDecimal("0.26"), MathContext.DECIMAL64));
+  }
+
+  @Test
+  void rejectsInvalidRates() {
+    assertThatThrownBy(() -> rates.withRate(PLN, PLN, BigDecimal.TWO)).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> rates.withRate(PLN, USD, BigDecimal.ZERO)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void convertsMoney() {
+    assertThat(rates.convert(Money.of("10.00", EURO), PLN)).isEqualTo(new Money(new BigDecimal("42.5000"), PLN));
+    assertThatThrownBy(() -> rates.convert(Money.of("1", GBP), PLN)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void sumInCurrencyMatchesConvertingEveryElement() {
+    Currency[] currencies = {PLN, EURO, USD};
+    List<Money> monies = IntStream.range(0, 1_000)
+        .mapToObj(i -> new Money(BigDecimal.valueOf(i * 7919L % 100_003, 2), currencies[i % currencies.length]))
+        .toList();
+
+    BigDecimal expected = monies.stream()
+        .map(money -> rates.convert(money, USD).amount())
+        .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+    assertThat(rates.sumInCurrency(monies, USD)).isEqualByComparingTo(expected);
+  }
+
+  @Test
+  void readersSeeWholeSnapshotsWhileRatesAreUpdated() throws Exception {
+    CurrencyExchange exchange = new CurrencyExchange(rates.withRate(EURO, PLN, new BigDecimal("4.00")));
+    List<Future<Boolean>> consistentReads = new ArrayList<>();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 1; i <= 100; i++) {
+        BigDecimal rate = BigDecimal.valueOf(i);
+        executor.execute(() -> exchange.update(current -> current
+            .withRate(EURO, PLN, rate)
+            .withRate(USD, PLN, rate)));
+        consistentReads.add(executor.submit(() -> {
+          ExchangeRates snapshot = exchange.snapshot();
+          return snapshot.rate(EURO, PLN).equals(snapshot.rate(USD, PLN));
+        }));
+      }
+    }
+
+    for (Future<Boolean> consistentRead : consistentReads) {
+      assertThat(consistentRead.get()).isTrue();
+    }
+  }
+
+}
@@ -0,0 +1,166 @@
+package com.github.asciborek.stream;
+
+import static com.github.asciborek.stream.Currency.PLN;
+import static com.github.asciborek.stream.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class CurrencyKernelsTest {
+
+  @Test
+  void usesVectorKernelsWhenModuleIsPresent() {
+    assumeTrue(ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent(), "run with --add-modules jdk.incubator.vector");
+
+    assertThat(CurrencyKernels.isVectorized()).isTrue();
+    assertThat(CurrencyKernels.selectKernel(true)).isInstanceOf(VectorCurrencyKernel.class);
+  }
+
+  @Test
+  void fallsBackToScalarKernelWithoutModule() {
+    assertThat(CurrencyKernels.selectKernel(false)).isInstanceOf(ScalarCurrencyKernel.class);
+  }
+
+  @MethodSource("kernelsAndSizes")
+  @ParameterizedTest
+  void kernelMatchesPerElementTotals(CurrencyKernel kernel, int size) {
+    SplittableRandom random = new SplittableRandom(size);
+    long[] amounts = random.longs(size, -1_000_000_000L, 1_000_000_000L).toArray();
+    byte[] currencies = new byte[size];
+    MinorUnitTotals expected = new MinorUnitTotals();
+    for (int i = 0; i < size; i++) {
+      currencies[i] = (byte) random.nextInt(Currency.values().length);
+      expected.add(currencies[i], amounts[i]);
+    }
+
+    MinorUnitTotals actual = new MinorUnitTotals();
+    kernel.accumulate(amounts, currencies, 0, size, actual);
+
+    assertThat(actual.sumByCurrency()).isEqualTo(expected.sumByCurrency());
+    assertThat(actual.maxByCurrency()).isEqualTo(expected.maxByCurrency());
+    assertThat(actual.minByCurrency()).isEqualTo(expected.minByCurrency());
+  }
+
+  static Stream<Arguments> kernelsAndSizes() {
+    return Stream.of(new ScalarCurrencyKernel(), new VectorCurrencyKernel())
+        .flatMap(kernel -> Stream.of(0, 1, 7, 8, 9, 63, 1_003, 100_000).map(size -> Arguments.of(kernel, size)));
+  }
+
+  @MethodSource("kernels")
+  @ParameterizedTest
+  void accumulatesOnlyTheGivenRange(CurrencyKernel kernel) {
+    long[] amounts = {100, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 100};
+    byte[] currencies = {1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 3};
+
+    MinorUnitTotals totals = new MinorUnitTotals();
+    kernel.accumulate(amounts, currencies, 1, 11, totals);
+
+    assertThat(totals.sumByCurrency()).containsExactly(
+        Map.entry(PLN, new CompactMoney(45, PLN)), Map.entry(USD, new CompactMoney(10, USD)));
+  }
+
+  @MethodSource("kernels")
+  @ParameterizedTest
+  void rejectsInvalidOrdinalsWithoutChangingTotals(CurrencyKernel kernel) {
+    long[] amounts = new long[16];
+    byte[] currencies = new byte[16];
+    currencies[5] = 42;
+    MinorUnitTotals totals = new MinorUnitTotals();
+    totals.add(0, 7);
+
+    assertThatThrownBy(() -> kernel.accumulate(amounts, currencies, 0, 16, totals))
+        .isExactlyInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("index 5");
+    assertThat(totals.sumByCurrency()).containsExactly(Map.entry(PLN, new CompactMoney(7, PLN)));
+  }
+
+  @MethodSource("kernels")
+  @ParameterizedTest
+  void reportsOverflowOfFinalSum(CurrencyKernel kernel) {
+    long[] amounts = new long[16];
+    amounts[0] = Long.MAX_VALUE;
+    amounts[8] = Long.MAX_VALUE;
+    byte[] currencies = new byte[16];
+
+    MinorUnitTotals totals = new MinorUnitTotals();
+    kernel.accumulate(amounts, currencies, 0, 16, totals);
+
+    assertThatThrownBy(totals::sumByCurrency).isExactlyInstanceOf(ArithmeticException.class);
+    assertThat(totals.maxByCurrency()).containsExactly(Map.entry(PLN, new CompactMoney(Long.MAX_VALUE, PLN)));
+  }
+
+  @MethodSource("kernels")
+  @ParameterizedTest
+  void runningSumOverflowWithFittingFinalSumIsNotAnError(CurrencyKernel kernel) {
+    long[] amounts = new long[16];
+    amounts[0] = Long.MAX_VALUE;
+    amounts[1] = 1;
+    amounts[4] = -2;
+    byte[] currencies = new byte[16];
+
+    MinorUnitTotals totals = new MinorUnitTotals();
+    kernel.accumulate(amounts, currencies, 0, 16, totals);
+
+    assertThat(totals.sumByCurrency()).containsExactly(Map.entry(PLN, new CompactMoney(Long.MAX_VALUE - 1, PLN)));
+  }
+
+  @MethodSource("kernels")
+  @ParameterizedTest
+  void overflowAcrossCallsThatCancelsOutIsNotAnError(CurrencyKernel kernel) {
+    MinorUnitTotals totals = new MinorUnitTotals();
+    totals.add(PLN.ordinal(), Long.MAX_VALUE - 2);
+    long[] amounts = new long[16];
+    amounts[0] = 5;
+    amounts[1] = -5;
+    byte[] currencies = new byte[16];
+
+    kernel.accumulate(amounts, currencies, 0, 16, totals);
+    kernel.accumulate(amounts, currencies, 0, 1, totals);
+    kernel.accumulate(amounts, currencies, 1, 2, totals);
+
+    assertThat(totals.sumByCurrency()).containsExactly(Map.entry(PLN, new CompactMoney(Long.MAX_VALUE - 2, PLN)));
+  }
+
+  @MethodSource("kernels")
+  @ParameterizedTest
+  void laneOverflowThatCancelsOutMatchesScalarKernel(CurrencyKernel kernel) {
+    long[] amounts = new long[16];
+    amounts[0] = Long.MAX_VALUE;
+    amounts[1] = -Long.MAX_VALUE;
+    amounts[8] = Long.MAX_VALUE;
+    byte[] currencies = new byte[16];
+
+    MinorUnitTotals totals = new MinorUnitTotals();
+    kernel.accumulate(amounts, currencies, 0, 16, totals);
+
+    assertThat(totals.sumByCurrency()).containsExactly(Map.entry(PLN, new CompactMoney(Long.MAX_VALUE, PLN)));
+  }
+
+  static Stream<CurrencyKernel> kernels() {
+    return Stream.of(new ScalarCurrencyKernel(), new VectorCurrencyKernel());
+  }
+
+  @Test
+  void facadeAggregatesColumns() {
+    long[] amounts = {150, -25, 300, 10};
+    byte[] currencies = {0, 2, 0, 2};
+
+    assertThat(CurrencyKernels.sumByCurrency(amounts, currencies))
+        .containsExactly(Map.entry(PLN, CompactMoney.of("4.50", PLN)), Map.entry(USD, CompactMoney.of("-0.15", USD)));
+    assertThat(CurrencyKernels.maxByCurrency(amounts, currencies))
+        .containsExactly(Map.entry(PLN, CompactMoney.of("3.00", PLN)), Map.entry(USD, CompactMoney.of("0.10", USD)));
+    assertThat(CurrencyKernels.minByCurrency(amounts, currencies))
+        .containsExactly(Map.entry(PLN, CompactMoney.of("1.50", PLN)), Map.entry(USD, CompactMoney.of("-0.25", USD)));
+    assertThatThrownBy(() -> CurrencyKernels.sumByCurrency(amounts, new byte[3]))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+}
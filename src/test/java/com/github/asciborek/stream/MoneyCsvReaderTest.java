@@ -0,0 +1,133 @@
+package com.github.asciborek.stream;
+
+import static com.github.asciborek.stream.Currency.EURO;
+import static com.github.asciborek.stream.Currency.GBP;
+import static com.github.asciborek.stream.Currency.PLN;
+import static com.github.asciborek.stream.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MoneyCsvReaderTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void parsesLinesLikeMoneyOf() {
+    String csv = "12.50,PLN\r\n-0.5,USD\n\n+3,EURO\n.25,GBP\n1.,PLN";
+
+    try (MoneyCsvReader reader = MoneyCsvReader.of(ascii(csv))) {
+      assertThat(reader.stream().toList()).containsExactly(
+          Money.of("12.50", PLN), Money.of("-0.5", USD), Money.of("3", EURO), Money.of(".25", GBP), Money.of("1.", PLN));
+    }
+  }
+
+  @Test
+  void feedsMinorUnitsToCallback() {
+    List<CompactMoney> received = new ArrayList<>();
+
+    try (MoneyCsvReader reader = MoneyCsvReader.of(ByteBuffer.allocateDirect(32).put(bytes("1.5,PLN\n-2,USD\n")).flip())) {
+      reader.forEach((currency, minorUnits) -> received.add(new CompactMoney(minorUnits, currency)));
+    }
+
+    assertThat(received).containsExactly(CompactMoney.of("1.50", PLN), CompactMoney.of("-2.00", USD));
+  }
+
+  @Test
+  void readsMappedFileSequentiallyAndInParallel() throws IOException {
+    List<Money> monies = randomMonies(200_000);
+    Path file = directory.resolve("ledger.csv");
+    Files.write(file, monies.stream().map(money -> money.amount().toPlainString() + "," + money.currency()).toList());
+
+    try (MoneyCsvReader reader = MoneyCsvReader.open(file)) {
+      assertThat(reader.stream().toList()).isEqualTo(monies);
+      assertThat(reader.stream().parallel().toList()).isEqualTo(monies);
+      assertThat(toAmounts(reader.sumByCurrency())).isEqualTo(withMinorUnitScale(MoneyUtil.sumAmountByCurrency(monies)));
+      assertThat(toAmounts(reader.maxByCurrency())).isEqualTo(withMinorUnitScale(MoneyUtil.getMaxByCurrency(monies)));
+    }
+  }
+
+  @Test
+  void chunksAreAlignedToLines() {
+    String csv = IntStream.rangeClosed(1, 1_000).mapToObj(i -> i + ".01," + (i % 2 == 0 ? "PLN" : "EURO"))
+        .collect(Collectors.joining("\n"));
+
+    try (MoneyCsvReader reader = MoneyCsvReader.of(ascii(csv))) {
+      for (long chunkSize : new long[] {1, 7, 10, 11, 4096}) {
+        assertThat(reader.totals(chunkSize).sumByCurrency()).containsExactly(
+            Map.entry(PLN, CompactMoney.of("250505.00", PLN)), Map.entry(EURO, CompactMoney.of("250005.00", EURO)));
+      }
+    }
+  }
+
+  @Test
+  void emptyInputHasNoRows() {
+    try (MoneyCsvReader reader = MoneyCsvReader.of(ascii("\n\r\n"))) {
+      assertThat(reader.stream()).isEmpty();
+      assertThat(reader.sumByCurrency()).isEmpty();
+    }
+  }
+
+  @Test
+  void rejectsMalformedLines() {
+    assertThatThrownBy(() -> MoneyCsvReader.of(ascii("1.00,PLN\n1.00;PLN\n")).stream().toList())
+        .isExactlyInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("byte 9");
+    assertThatThrownBy(() -> MoneyCsvReader.of(ascii("1.00,CHF")).sumByCurrency())
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> MoneyCsvReader.of(ascii("-,PLN")).stream().toList())
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> MoneyCsvReader.of(ascii("99999999999999999999,PLN")).stream().toList())
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void aggregationRequiresAmountsInMinorUnits() {
+    try (MoneyCsvReader reader = MoneyCsvReader.of(ascii("1.000,PLN\n1.001,PLN"))) {
+      assertThat(reader.stream().map(Money::amount).toList())
+          .containsExactly(new BigDecimal("1.000"), new BigDecimal("1.001"));
+      assertThatThrownBy(reader::sumByCurrency).isInstanceOf(ArithmeticException.class);
+    }
+  }
+
+  private static List<Money> randomMonies(int size) {
+    SplittableRandom random = new SplittableRandom(9);
+    return IntStream.range(0, size)
+        .mapToObj(_ -> new Money(BigDecimal.valueOf(random.nextLong(-10_000_000, 10_000_000), random.nextInt(3)),
+            Currency.values()[random.nextInt(Currency.values().length)]))
+        .toList();
+  }
+
+  private static Map<Currency, BigDecimal> toAmounts(Map<Currency, CompactMoney> totals) {
+    return totals.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().amount()));
+  }
+
+  private static Map<Currency, BigDecimal> withMinorUnitScale(Map<Currency, BigDecimal> amounts) {
+    return amounts.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().setScale(entry.getKey().scale())));
+  }
+
+  private static ByteBuffer ascii(String csv) {
+    return ByteBuffer.wrap(bytes(csv));
+  }
+
+  private static byte[] bytes(String csv) {
+    return csv.getBytes(StandardCharsets.US_ASCII);
+  }
+
+}
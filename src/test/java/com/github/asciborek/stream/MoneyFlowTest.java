@@ -0,0 +1,221 @@
+package com.github.asciborek.stream;
+
+import static com.github.asciborek.stream.Currency.EURO;
+import static com.github.asciborek.stream.Currency.PLN;
+import static com.github.asciborek.stream.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import com.github.asciborek.generics.Option;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MoneyFlowTest {
+
+  @Test
+  void filtersAndAggregatesPushedMonies() {
+    List<Money> monies = IntStream.range(0, 10_000)
+        .mapToObj(i -> new Money(BigDecimal.valueOf(i % 200 - 50, 2), Currency.values()[i % Currency.values().length]))
+        .toList();
+    MoneyProcessor positiveOnly = MoneyProcessor.filtering(money -> money.amount().signum() > 0, 64, 16);
+    MoneyStatisticsSubscriber sink = new MoneyStatisticsSubscriber(32, 8);
+
+    try (ExecutorService executor = Executors.newFixedThreadPool(2);
+        SubmissionPublisher<Money> source = new SubmissionPublisher<>(executor, 16)) {
+      source.subscribe(positiveOnly);
+      positiveOnly.subscribe(sink);
+      monies.forEach(source::submit);
+    }
+
+    List<Money> positive = monies.stream().filter(money -> money.amount().signum() > 0).toList();
+    assertThat(sink.result().join()).isEqualTo(MoneyUtil.statisticsByCurrency(positive));
+  }
+
+  @Test
+  void convertsToOneCurrency() {
+    CurrencyExchange exchange = new CurrencyExchange(ExchangeRates.empty()
+        .withRate(USD, PLN, new BigDecimal("4.00"))
+        .withRate(EURO, PLN, new BigDecimal("4.50")));
+    MoneyProcessor toPln = MoneyProcessor.converting(exchange, PLN, 8, 4);
+    MoneyStatisticsSubscriber sink = new MoneyStatisticsSubscriber(8, 4);
+
+    try (SubmissionPublisher<Money> source = new SubmissionPublisher<>()) {
+      source.subscribe(toPln);
+      toPln.subscribe(sink);
+      source.submit(Money.of("1.00", USD));
+      source.submit(Money.of("2.00", EURO));
+      source.submit(Money.of("3.00", PLN));
+    }
+
+    Map<Currency, CurrencyStatistics> statistics = sink.result().join();
+    assertThat(statistics).containsOnlyKeys(PLN);
+    assertThat(statistics.get(PLN).count()).isEqualTo(3);
+    assertThat(statistics.get(PLN).sum()).isEqualByComparingTo("16.00");
+    assertThat(statistics.get(PLN).max()).isEqualByComparingTo("9.00");
+  }
+
+  @Test
+  void fastProducerIsBoundedBySlowConsumer() throws Exception {
+    int prefetch = 32;
+    InfiniteMoneyPublisher source = new InfiniteMoneyPublisher();
+    MoneyProcessor processor = MoneyProcessor.filtering(money -> money.currency() != USD, prefetch, 8);
+    SlowSubscriber consumer = new SlowSubscriber(200);
+
+    source.subscribe(processor);
+    processor.subscribe(consumer);
+
+    assertThat(consumer.finished.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+    await().atMost(Duration.ofSeconds(5)).untilTrue(source.cancelled);
+    assertThat(source.maxOutstanding.get()).isLessThanOrEqualTo(prefetch);
+    // emitted items were delivered, dropped by the filter (every fourth one), buffered, or in flight when cancelled
+    assertThat(source.emitted.get()).isLessThanOrEqualTo(200 * 4 / 3 + 2 * prefetch);
+  }
+
+  @Test
+  void transformFailureCancelsUpstreamAndFailsSink() {
+    InfiniteMoneyPublisher source = new InfiniteMoneyPublisher();
+    MoneyProcessor failing = new MoneyProcessor(money -> {
+      if (money.amount().compareTo(BigDecimal.TEN) > 0) {
+        throw new IllegalStateException("no rate");
+      }
+      return Option.ofValue(money);
+    }, 16, 4);
+    MoneyStatisticsSubscriber sink = new MoneyStatisticsSubscriber(16, 4);
+
+    source.subscribe(failing);
+    failing.subscribe(sink);
+
+    assertThatThrownBy(() -> sink.result().join()).isInstanceOf(CompletionException.class)
+        .hasRootCauseExactlyInstanceOf(IllegalStateException.class);
+    assertThat(source.cancelled).isTrue();
+  }
+
+  @Test
+  void cancellingTheResultCancelsTheSource() {
+    InfiniteMoneyPublisher source = new InfiniteMoneyPublisher();
+    MoneyProcessor processor = MoneyProcessor.filtering(_ -> true, 16, 4);
+    MoneyStatisticsSubscriber sink = new MoneyStatisticsSubscriber(16, 4);
+    source.subscribe(processor);
+    processor.subscribe(sink);
+
+    sink.result().cancel(false);
+
+    await().atMost(Duration.ofSeconds(5)).untilTrue(source.cancelled);
+  }
+
+  @Test
+  void rejectsInvalidDemandAndSecondSubscriber() {
+    MoneyProcessor processor = MoneyProcessor.filtering(_ -> true, 4, 2);
+    SlowSubscriber first = new SlowSubscriber(1);
+    processor.subscribe(first);
+    MoneyStatisticsSubscriber second = new MoneyStatisticsSubscriber(4, 2);
+    processor.subscribe(second);
+
+    assertThat(second.result()).isCompletedExceptionally();
+    first.subscription.request(0);
+    // onError may be delivered by the thread still draining the subscriber's own asynchronous request(1)
+    assertThatThrownBy(() -> first.finished.get(5, TimeUnit.SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .cause().isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new MoneyStatisticsSubscriber(4, 5)).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> MoneyProcessor.filtering(_ -> true, 0, 0)).isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  /**
+   * Emits as much as requested as fast as possible on a pool thread, and records the largest outstanding demand.
+   */
+  private static final class InfiniteMoneyPublisher implements Flow.Publisher<Money> {
+    final AtomicLong emitted = new AtomicLong();
+    final AtomicLong maxOutstanding = new AtomicLong();
+    final AtomicBoolean cancelled = new AtomicBoolean();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong wip = new AtomicLong();
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super Money> subscriber) {
+      subscriber.onSubscribe(new Flow.Subscription() {
+        @Override
+        public void request(long n) {
+          maxOutstanding.accumulateAndGet(requested.addAndGet(n), Math::max);
+          if (wip.getAndIncrement() == 0) {
+            CompletableFuture.runAsync(this::emit);
+          }
+        }
+
+        private void emit() {
+          do {
+            while (requested.get() > 0 && !cancelled.get()) {
+              long i = emitted.getAndIncrement();
+              requested.decrementAndGet();
+              subscriber.onNext(new Money(BigDecimal.valueOf(i % 1_200, 2), Currency.values()[(int) (i % 4)]));
+            }
+          } while (wip.decrementAndGet() != 0);
+        }
+
+        @Override
+        public void cancel() {
+          cancelled.set(true);
+        }
+      });
+    }
+  }
+
+  /**
+   * Requests one item at a time from another thread, after a short pause, and cancels after {@code limit} items.
+   */
+  private static final class SlowSubscriber implements Flow.Subscriber<Money> {
+    final CompletableFuture<Integer> finished = new CompletableFuture<>();
+    private final int limit;
+    private final List<Money> received = new ArrayList<>();
+    Flow.Subscription subscription;
+
+    SlowSubscriber(int limit) {
+      this.limit = limit;
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+      this.subscription = subscription;
+      CompletableFuture.runAsync(() -> subscription.request(1));
+    }
+
+    @Override
+    public void onNext(Money money) {
+      received.add(money);
+      if (received.size() == limit) {
+        subscription.cancel();
+        finished.complete(received.size());
+      } else {
+        CompletableFuture.runAsync(() -> subscription.request(1),
+            CompletableFuture.delayedExecutor(100, TimeUnit.MICROSECONDS));
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      finished.completeExceptionally(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      finished.complete(received.size());
+    }
+  }
+
+}
@@ -0,0 +1,102 @@
+package com.github.asciborek.stream;
+
+import static com.github.asciborek.stream.Currency.GBP;
+import static com.github.asciborek.stream.Currency.PLN;
+import static com.github.asciborek.stream.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MoneyLedgerTest {
+
+  @TempDir
+  Path directory;
+
+  @Test
+  void readsBackWrittenRows() throws IOException {
+    Path ledger = directory.resolve("ledger.bin");
+    try (MoneyLedgerWriter writer = MoneyLedgerWriter.open(ledger)) {
+      writer.append(Money.of("10.0", PLN));
+      writer.append(Money.of("-15.25", USD));
+    }
+
+    try (MoneyLedgerReader reader = MoneyLedgerReader.open(ledger)) {
+      assertThat(reader.size()).isEqualTo(2);
+      assertThat(reader.get(0)).isEqualTo(CompactMoney.of("10.00", PLN));
+      assertThat(reader.get(1)).isEqualTo(CompactMoney.of("-15.25", USD));
+      assertThatThrownBy(() -> reader.get(2)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+  }
+
+  @Test
+  void aggregatesMappedFileLikeMoneyUtil() throws IOException {
+    Currency[] currencies = Currency.values();
+    List<Money> monies = IntStream.range(0, 50_000)
+        .mapToObj(i -> new Money(BigDecimal.valueOf(i * 7919L % 100_003, 2), currencies[i % currencies.length]))
+        .toList();
+    Path ledger = directory.resolve("ledger.bin");
+    try (MoneyLedgerWriter writer = MoneyLedgerWriter.open(ledger)) {
+      for (Money money : monies) {
+        writer.append(money);
+      }
+    }
+
+    try (MoneyLedgerReader reader = MoneyLedgerReader.open(ledger)) {
+      assertThat(reader.size()).isEqualTo(monies.size());
+      assertThat(toAmounts(reader.sumByCurrency())).isEqualTo(MoneyUtil.sumAmountByCurrency(monies));
+      assertThat(toAmounts(reader.maxByCurrency())).isEqualTo(MoneyUtil.getMaxByCurrency(monies));
+    }
+  }
+
+  @Test
+  void reopeningAppendsToExistingLedger() throws IOException {
+    Path ledger = directory.resolve("ledger.bin");
+    try (MoneyLedgerWriter writer = MoneyLedgerWriter.open(ledger)) {
+      writer.append(Money.of("1.00", GBP));
+    }
+    try (MoneyLedgerWriter writer = MoneyLedgerWriter.open(ledger)) {
+      writer.append(Money.of("2.50", GBP));
+    }
+
+    try (MoneyLedgerReader reader = MoneyLedgerReader.open(ledger)) {
+      assertThat(reader.sumByCurrency()).isEqualTo(Map.of(GBP, CompactMoney.of("3.50", GBP)));
+    }
+  }
+
+  @Test
+  void ignoresTrailingPartialRow() throws IOException {
+    Path ledger = directory.resolve("ledger.bin");
+    try (MoneyLedgerWriter writer = MoneyLedgerWriter.open(ledger)) {
+      writer.append(Money.of("1.00", PLN));
+    }
+    Files.write(ledger, new byte[] {1, 2, 3}, StandardOpenOption.APPEND);
+
+    try (MoneyLedgerReader reader = MoneyLedgerReader.open(ledger)) {
+      assertThat(reader.size()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void rejectsFilesWithoutLedgerHeader() throws IOException {
+    Path file = Files.writeString(directory.resolve("ledger.csv"), "10.00,PLN\n");
+    assertThatThrownBy(() -> MoneyLedgerReader.open(file)).isExactlyInstanceOf(IOException.class);
+    assertThatThrownBy(() -> MoneyLedgerWriter.open(file)).isExactlyInstanceOf(IOException.class);
+  }
+
+  private static Map<Currency, BigDecimal> toAmounts(Map<Currency, CompactMoney> monies) {
+    return monies.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().amount()));
+  }
+
+}
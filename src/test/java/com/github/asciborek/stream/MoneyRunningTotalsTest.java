@@ -0,0 +1,52 @@
+package com.github.asciborek.stream;
+
+import static com.github.asciborek.stream.Currency.PLN;
+import static com.github.asciborek.stream.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MoneyRunningTotalsTest {
+
+  @Test
+  void emptyTotalsHaveNoCurrencies() {
+    MoneyRunningTotals totals = new MoneyRunningTotals();
+    assertThat(totals.sumByCurrency()).isEmpty();
+    assertThat(totals.maxByCurrency()).isEmpty();
+  }
+
+  @Test
+  void snapshotsReflectAddedMoney() {
+    MoneyRunningTotals totals = new MoneyRunningTotals();
+    totals.add(Money.of("10.0", PLN));
+    totals.add(Money.of("15.0", USD));
+    assertThat(totals.sumByCurrency()).isEqualTo(Map.of(PLN, new BigDecimal("10.0"), USD, new BigDecimal("15.0")));
+
+    totals.add(Money.of("21.0", PLN));
+    assertThat(totals.sumByCurrency()).isEqualTo(Map.of(PLN, new BigDecimal("31.0"), USD, new BigDecimal("15.0")));
+    assertThat(totals.maxByCurrency()).isEqualTo(Map.of(PLN, new BigDecimal("21.0"), USD, new BigDecimal("15.0")));
+  }
+
+  @Test
+  void concurrentProducersMatchMoneyUtil() {
+    Currency[] currencies = Currency.values();
+    List<Money> monies = IntStream.range(0, 20_000)
+        .mapToObj(i -> new Money(BigDecimal.valueOf(i * 7919L % 100_003, 2), currencies[i % currencies.length]))
+        .toList();
+    MoneyRunningTotals totals = new MoneyRunningTotals();
+
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      monies.forEach(money -> executor.execute(() -> totals.add(money)));
+    }
+
+    assertThat(totals.sumByCurrency()).isEqualTo(MoneyUtil.sumAmountByCurrency(monies));
+    assertThat(totals.maxByCurrency()).isEqualTo(MoneyUtil.getMaxByCurrency(monies));
+  }
+
+}
@@ -5,10 +5,15 @@ import static com.github.asciborek.stream.Currency.USD;
 
 import java.math.BigDecimal;
 import java.util.Collection;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -56,4 +61,99 @@ public class MoneyUtilsTest {
     Assertions.assertThat(sumAmountByCurrency).isEqualTo(expectedSumByCurrency);
   }
 
+  @ParameterizedTest
+  @MethodSource("maxByCurrencyArguments")
+  void compactMaxByCurrencyMatchesBigDecimalVariant(Collection<Money> monies, Map<Currency, BigDecimal> expectedMaxByCurrency) {
+    Map<Currency, CompactMoney> maxByCurrency = MoneyUtil.getCompactMaxByCurrency(toCompact(monies));
+    Assertions.assertThat(maxByCurrency).isEqualTo(toCompact(expectedMaxByCurrency));
+  }
+
+  @ParameterizedTest
+  @MethodSource("sumAmountCurrencyArguments")
+  void compactSumByCurrencyMatchesBigDecimalVariant(Collection<Money> monies, Map<Currency, BigDecimal> expectedSumByCurrency) {
+    Map<Currency, CompactMoney> sumByCurrency = MoneyUtil.sumCompactAmountByCurrency(toCompact(monies));
+    Assertions.assertThat(sumByCurrency).isEqualTo(toCompact(expectedSumByCurrency));
+  }
+
+  @Test
+  void compactSumByCurrencyIsOverflowChecked() {
+    List<CompactMoney> monies = List.of(new CompactMoney(Long.MAX_VALUE, PLN), new CompactMoney(1, PLN));
+    Assertions.assertThatThrownBy(() -> MoneyUtil.sumCompactAmountByCurrency(monies))
+        .isExactlyInstanceOf(ArithmeticException.class);
+  }
+
+  @Test
+  void statisticsByCurrencyInSinglePass() {
+    List<Money> monies = List.of(Money.of("10.0", PLN), Money.of("15.0", USD), Money.of("21.0", PLN), Money.of("20.0", PLN));
+
+    Map<Currency, CurrencyStatistics> statistics = MoneyUtil.statisticsByCurrency(monies);
+
+    Assertions.assertThat(statistics).containsOnlyKeys(PLN, USD);
+    Assertions.assertThat(statistics.get(PLN))
+        .isEqualTo(new CurrencyStatistics(PLN, 3, new BigDecimal("51.0"), new BigDecimal("10.0"), new BigDecimal("21.0")));
+    Assertions.assertThat(statistics.get(PLN).average()).isEqualTo(new BigDecimal("17.0"));
+    Assertions.assertThat(statistics.get(USD))
+        .isEqualTo(new CurrencyStatistics(USD, 1, new BigDecimal("15.0"), new BigDecimal("15.0"), new BigDecimal("15.0")));
+  }
+
+  @Test
+  void parallelStatisticsByCurrencyMatchSequentialAggregations() {
+    Currency[] currencies = Currency.values();
+    List<Money> monies = IntStream.range(0, 100_000)
+        .mapToObj(i -> new Money(BigDecimal.valueOf(i % 9973, 2), currencies[i % currencies.length]))
+        .toList();
+
+    Map<Currency, CurrencyStatistics> statistics = monies.parallelStream().collect(MoneyUtil.statisticsByCurrency());
+
+    Map<Currency, BigDecimal> sums = MoneyUtil.sumAmountByCurrency(monies);
+    Map<Currency, BigDecimal> maxes = MoneyUtil.getMaxByCurrency(monies);
+    Assertions.assertThat(statistics).containsOnlyKeys(currencies);
+    statistics.forEach((currency, currencyStatistics) -> {
+      Assertions.assertThat(currencyStatistics.count()).isEqualTo(25_000);
+      Assertions.assertThat(currencyStatistics.sum()).isEqualTo(sums.get(currency));
+      Assertions.assertThat(currencyStatistics.max()).isEqualTo(maxes.get(currency));
+    });
+  }
+
+  @Test
+  void forkJoinAggregationsMatchSequentialAggregations() {
+    Currency[] currencies = Currency.values();
+    List<Money> monies = IntStream.range(0, 200_000)
+        .mapToObj(i -> new Money(BigDecimal.valueOf(i % 9973 - 4000, 2), currencies[i * 7 % currencies.length]))
+        .toList();
+
+    try (ForkJoinPool pool = new ForkJoinPool(4)) {
+      Assertions.assertThat(MoneyUtil.sumAmountByCurrency(monies, pool)).isEqualTo(MoneyUtil.sumAmountByCurrency(monies));
+      Assertions.assertThat(MoneyUtil.getMaxByCurrency(monies, pool)).isEqualTo(MoneyUtil.getMaxByCurrency(monies));
+      Assertions.assertThat(MoneyUtil.statisticsByCurrency(new LinkedList<>(monies), pool))
+          .isEqualTo(MoneyUtil.statisticsByCurrency(monies));
+      Assertions.assertThat(MoneyUtil.sumCompactAmountByCurrency(toCompact(monies), pool))
+          .isEqualTo(MoneyUtil.sumCompactAmountByCurrency(toCompact(monies)));
+      Assertions.assertThat(MoneyUtil.getCompactMaxByCurrency(toCompact(monies), pool))
+          .isEqualTo(MoneyUtil.getCompactMaxByCurrency(toCompact(monies)));
+    }
+    Assertions.assertThat(MoneyUtil.statisticsByCurrency(monies, 3)).isEqualTo(MoneyUtil.statisticsByCurrency(monies));
+  }
+
+  @Test
+  void forkJoinAggregationOfEmptyCollection() {
+    Assertions.assertThat(MoneyUtil.statisticsByCurrency(List.of(), ForkJoinPool.commonPool())).isEmpty();
+    Assertions.assertThat(MoneyUtil.sumCompactAmountByCurrency(List.of(), ForkJoinPool.commonPool())).isEmpty();
+  }
+
+  @Test
+  void chunksAreSizedForParallelism() {
+    Assertions.assertThat(ChunkedAggregation.chunkSize(100_000_000, 8)).isEqualTo(3_125_000);
+    Assertions.assertThat(ChunkedAggregation.chunkSize(1_000, 8)).isEqualTo(ChunkedAggregation.MIN_CHUNK_SIZE);
+  }
+
+  private static List<CompactMoney> toCompact(Collection<Money> monies) {
+    return monies.stream().map(CompactMoney::of).toList();
+  }
+
+  private static Map<Currency, CompactMoney> toCompact(Map<Currency, BigDecimal> amounts) {
+    return amounts.entrySet().stream()
+        .collect(Collectors.toMap(Map.Entry::getKey, entry -> CompactMoney.of(new Money(entry.getValue(), entry.getKey()))));
+  }
+
 }
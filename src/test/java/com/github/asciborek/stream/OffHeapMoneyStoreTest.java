@@ -0,0 +1,85 @@
+package com.github.asciborek.stream;
+
+import static com.github.asciborek.stream.Currency.GBP;
+import static com.github.asciborek.stream.Currency.PLN;
+import static com.github.asciborek.stream.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class OffHeapMoneyStoreTest {
+
+  @Test
+  void readsBackAppendedRows() {
+    try (OffHeapMoneyStore store = new OffHeapMoneyStore(1)) {
+      store.append(Money.of("10.0", PLN));
+      store.append(CompactMoney.of("-15.25", USD));
+      store.append(Money.of("0.01", GBP));
+
+      assertThat(store.size()).isEqualTo(3);
+      assertThat(store.get(0)).isEqualTo(CompactMoney.of("10.00", PLN));
+      assertThat(store.get(1)).isEqualTo(CompactMoney.of("-15.25", USD));
+      assertThat(store.get(2)).isEqualTo(CompactMoney.of("0.01", GBP));
+      assertThatThrownBy(() -> store.get(3)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+  }
+
+  @Test
+  void aggregatesLikeMoneyUtil() {
+    SplittableRandom random = new SplittableRandom(5);
+    List<Money> monies = IntStream.range(0, 100_000)
+        .mapToObj(_ -> new Money(BigDecimal.valueOf(random.nextLong(-1_000_000, 1_000_000), 2),
+            Currency.values()[random.nextInt(Currency.values().length)]))
+        .toList();
+
+    try (OffHeapMoneyStore store = OffHeapMoneyStore.of(monies)) {
+      assertThat(store.size()).isEqualTo(monies.size());
+      assertThat(toAmounts(store.sumByCurrency())).isEqualTo(MoneyUtil.sumAmountByCurrency(monies));
+      assertThat(toAmounts(store.maxByCurrency())).isEqualTo(MoneyUtil.getMaxByCurrency(monies));
+    }
+  }
+
+  @Test
+  void emptyStoreHasNoTotals() {
+    try (OffHeapMoneyStore store = OffHeapMoneyStore.of(List.of())) {
+      assertThat(store.sumByCurrency()).isEmpty();
+      assertThat(store.minByCurrency()).isEmpty();
+    }
+  }
+
+  @Test
+  void failedBulkLoadAppendsNothing() {
+    try (OffHeapMoneyStore store = new OffHeapMoneyStore()) {
+      store.append(Money.of("1.00", PLN));
+
+      assertThatThrownBy(() -> store.appendAll(List.of(Money.of("2.00", PLN), Money.of("0.001", PLN))))
+          .isInstanceOf(ArithmeticException.class);
+      assertThat(store.size()).isEqualTo(1);
+      assertThat(store.sumByCurrency()).containsExactly(Map.entry(PLN, CompactMoney.of("1.00", PLN)));
+    }
+  }
+
+  @Test
+  void closedStoreCannotBeUsed() {
+    OffHeapMoneyStore store = new OffHeapMoneyStore();
+    store.append(Money.of("1.00", PLN));
+    store.close();
+    store.close();
+
+    assertThatThrownBy(store::size).isExactlyInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> store.append(Money.of("1.00", PLN))).isExactlyInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(store::sumByCurrency).isExactlyInstanceOf(IllegalStateException.class);
+  }
+
+  private static Map<Currency, BigDecimal> toAmounts(Map<Currency, CompactMoney> totals) {
+    return totals.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().amount()));
+  }
+
+}
@@ -0,0 +1,124 @@
+package com.github.asciborek.stream;
+
+import static com.github.asciborek.stream.Currency.PLN;
+import static com.github.asciborek.stream.Currency.USD;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class QuantileSketchTest {
+
+  private static final double[] QUANTILES = {0, 0.01, 0.25, 0.5, 0.75, 0.95, 0.99, 0.999, 1};
+
+  @Test
+  void emptySketchHasNoQuantiles() {
+    QuantileSketch sketch = new QuantileSketch();
+    assertThat(sketch.count()).isZero();
+    assertThat(sketch.quantile(0.5)).isEmpty();
+    assertThat(sketch.min()).isEmpty();
+  }
+
+  @Test
+  void rejectsInvalidArguments() {
+    assertThatThrownBy(() -> new QuantileSketch(0, 10)).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new QuantileSketch().add(Double.NaN)).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new QuantileSketch().quantile(1.5)).isExactlyInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new QuantileSketch().merge(new QuantileSketch(0.05, 2048)))
+        .isExactlyInstanceOf(IllegalArgumentException.class);
+  }
+
+  @ParameterizedTest
+  @ValueSource(longs = {1, 2, 3})
+  void quantilesAreWithinRelativeAccuracy(long seed) {
+    SplittableRandom random = new SplittableRandom(seed);
+    double[] values = random.doubles(100_000).map(uniform -> Math.exp(uniform * 20 - 5) * (random.nextInt(10) == 0 ? -1 : 1)).toArray();
+    QuantileSketch sketch = new QuantileSketch();
+    Arrays.stream(values).forEach(sketch::add);
+
+    assertWithinAccuracy(sketch, values);
+  }
+
+  @Test
+  void mergedSketchEqualsSketchOfCombinedInput() {
+    double[] values = new SplittableRandom(7).doubles(50_000, -100, 10_000).toArray();
+    QuantileSketch whole = new QuantileSketch();
+    QuantileSketch left = new QuantileSketch();
+    QuantileSketch right = new QuantileSketch();
+    for (int i = 0; i < values.length; i++) {
+      whole.add(values[i]);
+      (i % 3 == 0 ? left : right).add(values[i]);
+    }
+
+    QuantileSketch merged = left.merge(right);
+
+    assertThat(merged.count()).isEqualTo(whole.count());
+    for (double quantile : QUANTILES) {
+      assertThat(merged.quantile(quantile)).isEqualTo(whole.quantile(quantile));
+    }
+  }
+
+  @Test
+  void memoryIsBoundedAndOnlySmallestValuesLoseAccuracy() {
+    QuantileSketch sketch = new QuantileSketch(0.01, 100);
+    double[] values = IntStream.range(0, 1_000).mapToDouble(i -> Math.pow(1.1, i - 500)).toArray();
+    Arrays.stream(values).forEach(sketch::add);
+
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    assertThat(sketch.quantile(0.99).getAsDouble()).isCloseTo(sorted[(int) (0.99 * 999)], within(0.01 * sorted[989]));
+    assertThat(sketch.quantile(0).getAsDouble()).isEqualTo(sorted[0]);
+    assertThat(sketch.quantile(0.5).getAsDouble()).isGreaterThan(sorted[499] * 1.01);
+  }
+
+  @Test
+  void parallelCollectorMatchesSequentialSketch() {
+    List<BigDecimal> amounts = new SplittableRandom(11).longs(200_000, 1, 10_000_000)
+        .mapToObj(unscaled -> BigDecimal.valueOf(unscaled, 2))
+        .toList();
+
+    QuantileSketch sequential = amounts.stream().collect(StreamUtils.quantileSketch());
+    QuantileSketch parallel = amounts.parallelStream().collect(StreamUtils.quantileSketch());
+
+    assertThat(parallel.count()).isEqualTo(amounts.size());
+    for (double quantile : QUANTILES) {
+      assertThat(parallel.quantile(quantile)).isEqualTo(sequential.quantile(quantile));
+    }
+    assertWithinAccuracy(parallel, amounts.stream().mapToDouble(BigDecimal::doubleValue).toArray());
+  }
+
+  @Test
+  void sketchesPerCurrency() {
+    List<Money> monies = IntStream.rangeClosed(1, 1_000)
+        .mapToObj(i -> new Money(BigDecimal.valueOf(i), i % 2 == 0 ? PLN : USD))
+        .toList();
+
+    Map<Currency, QuantileSketch> sketches = monies.parallelStream().collect(MoneyUtil.quantileSketchByCurrency());
+
+    assertThat(sketches).containsOnlyKeys(PLN, USD);
+    assertThat(sketches.get(PLN).count()).isEqualTo(500);
+    assertThat(sketches.get(PLN).quantile(0.5).getAsDouble()).isCloseTo(500, within(5.0));
+    assertThat(sketches.get(USD).quantile(0.99).getAsDouble()).isCloseTo(989, within(9.9));
+  }
+
+  private static void assertWithinAccuracy(QuantileSketch sketch, double[] values) {
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    for (double quantile : QUANTILES) {
+      double exact = sorted[(int) (quantile * (sorted.length - 1))];
+      assertThat(sketch.quantile(quantile).getAsDouble())
+          .as("quantile %s", quantile)
+          .isCloseTo(exact, within(Math.abs(exact) * sketch.relativeAccuracy() + 1e-12));
+    }
+  }
+
+}
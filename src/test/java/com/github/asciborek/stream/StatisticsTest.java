@@ -0,0 +1,129 @@
+package com.github.asciborek.stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.DoubleStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class StatisticsTest {
+
+  @Test
+  void emptyStatistics() {
+    BigDecimalStatistics bigDecimals = StreamUtils.statistics((Stream<BigDecimal>) null);
+    LongStatistics longs = StreamUtils.statistics(LongStream.empty());
+    DoubleStatistics doubles = StreamUtils.statistics(DoubleStream.empty());
+
+    assertThat(bigDecimals.count()).isZero();
+    assertThat(bigDecimals.min()).isEmpty();
+    assertThat(bigDecimals.mean(MathContext.DECIMAL64)).isEmpty();
+    assertThat(longs.mean()).isEmpty();
+    assertThat(longs.max()).isEmpty();
+    assertThat(doubles.variance()).isEmpty();
+    assertThat(doubles.sum()).isZero();
+  }
+
+  @Test
+  void bigDecimalStatistics() {
+    BigDecimalStatistics statistics = StreamUtils.statistics(Stream.of("2", "4", "4", "4", "5", "5", "7", "9")
+        .map(BigDecimal::new));
+
+    assertThat(statistics.count()).isEqualTo(8);
+    assertThat(statistics.sum()).isEqualByComparingTo("40");
+    assertThat(statistics.min()).hasValue(new BigDecimal("2"));
+    assertThat(statistics.max()).hasValue(new BigDecimal("9"));
+    assertThat(statistics.mean(MathContext.DECIMAL64)).hasValueSatisfying(mean -> assertThat(mean).isEqualByComparingTo("5"));
+    assertThat(statistics.populationVariance(MathContext.DECIMAL64))
+        .hasValueSatisfying(variance -> assertThat(variance).isEqualByComparingTo("4"));
+    assertThat(statistics.variance(MathContext.DECIMAL64))
+        .hasValueSatisfying(variance -> assertThat(variance).isEqualByComparingTo("4.571428571428571"));
+    assertThat(statistics.standardDeviation(MathContext.DECIMAL64))
+        .hasValueSatisfying(deviation -> assertThat(deviation).isEqualByComparingTo("2.138089935299395"));
+  }
+
+  @Test
+  void singleValueHasNoSampleVariance() {
+    assertThat(StreamUtils.statistics(Stream.of(BigDecimal.TEN)).variance(MathContext.DECIMAL64)).isEmpty();
+    assertThat(StreamUtils.statistics(LongStream.of(10)).variance()).isEmpty();
+    assertThat(StreamUtils.statistics(LongStream.of(10)).populationVariance()).hasValue(0);
+  }
+
+  @Test
+  void parallelStatisticsMatchSequentialStatistics() {
+    List<BigDecimal> amounts = new SplittableRandom(3).longs(100_000, -1_000_000, 1_000_000)
+        .mapToObj(unscaled -> BigDecimal.valueOf(unscaled, 2))
+        .toList();
+
+    BigDecimalStatistics sequential = StreamUtils.statistics(amounts.stream());
+    BigDecimalStatistics parallel = StreamUtils.statistics(amounts.parallelStream());
+
+    assertThat(parallel.count()).isEqualTo(sequential.count());
+    assertThat(parallel.sum()).isEqualTo(sequential.sum());
+    assertThat(parallel.min()).isEqualTo(sequential.min());
+    assertThat(parallel.max()).isEqualTo(sequential.max());
+    assertThat(parallel.variance(MathContext.DECIMAL64)).isEqualTo(sequential.variance(MathContext.DECIMAL64));
+
+    DoubleStatistics doubles = amounts.parallelStream().collect(StreamUtils.summarizingDouble(BigDecimal::doubleValue));
+    assertThat(doubles.mean().getAsDouble())
+        .isCloseTo(sequential.mean(MathContext.DECIMAL64).orElseThrow().doubleValue(), within(1e-9));
+    assertThat(doubles.variance().getAsDouble())
+        .isCloseTo(sequential.variance(MathContext.DECIMAL64).orElseThrow().doubleValue(), within(1e-6));
+  }
+
+  @Test
+  void varianceIsStableForLargeOffsets() {
+    double offset = 1e9;
+    DoubleStatistics statistics = StreamUtils.statistics(DoubleStream.of(4, 7, 13, 16).map(value -> value + offset).parallel());
+
+    assertThat(statistics.mean()).hasValue(offset + 10);
+    assertThat(statistics.variance().getAsDouble()).isCloseTo(30, within(1e-6));
+
+    LongStatistics longs = StreamUtils.statistics(LongStream.of(4, 7, 13, 16).map(value -> value + 1_000_000_000_000L));
+    assertThat(longs.variance().getAsDouble()).isCloseTo(30, within(1e-3));
+  }
+
+  @Test
+  void longStatistics() {
+    LongStatistics statistics = StreamUtils.statistics(LongStream.rangeClosed(1, 1_000_000).parallel());
+
+    assertThat(statistics.count()).isEqualTo(1_000_000);
+    assertThat(statistics.sum()).isEqualTo(500_000_500_000L);
+    assertThat(statistics.min()).hasValue(1);
+    assertThat(statistics.max()).hasValue(1_000_000);
+    assertThat(statistics.mean()).hasValue(500_000.5);
+    assertThat(statistics.variance().getAsDouble()).isCloseTo((1e12 - 1) / 12 * 1_000_000 / 999_999, within(1e-2));
+  }
+
+  @Test
+  void longSumOverflowIsReportedButMeanIsStillAvailable() {
+    LongStatistics statistics = StreamUtils.statistics(LongStream.of(Long.MAX_VALUE, Long.MAX_VALUE));
+
+    assertThatThrownBy(statistics::sum).isExactlyInstanceOf(ArithmeticException.class);
+    assertThat(statistics.mean()).hasValue(Long.MAX_VALUE);
+  }
+
+  @Test
+  void longSumThatFitsIsReturnedDespiteIntermediateOverflow() {
+    assertThat(StreamUtils.statistics(LongStream.of(Long.MAX_VALUE, 1, -2)).sum()).isEqualTo(Long.MAX_VALUE - 1);
+    assertThat(StreamUtils.statistics(LongStream.of(Long.MIN_VALUE, -1, 2, Long.MAX_VALUE, 1).parallel()).sum())
+        .isEqualTo(1);
+  }
+
+  @Test
+  void summarizingMoneyAmounts() {
+    LongStatistics statistics = Stream.of("1.50", "2.25", "3.00")
+        .map(amount -> CompactMoney.of(amount, Currency.PLN))
+        .collect(StreamUtils.summarizingLong(CompactMoney::minorUnits));
+
+    assertThat(statistics.sum()).isEqualTo(675);
+    assertThat(statistics.mean()).hasValue(225);
+  }
+
+}
@@ -2,10 +2,17 @@ package com.github.asciborek.stream;
 
 import com.github.asciborek.generics.Option;
 import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
 import java.util.List;
 import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -29,4 +36,49 @@ class StreamUtilsTest {
     );
   }
 
+  @Test
+  void averageUsesGivenRoundingMode() {
+    Stream<BigDecimal> stream = Stream.of(new BigDecimal("1.00"), new BigDecimal("1.00"), new BigDecimal("2.00"));
+    Assertions.assertThat(StreamUtils.average(stream, RoundingMode.FLOOR)).contains(new BigDecimal("1.33"));
+  }
+
+  @Test
+  void averageUsesGivenMathContext() {
+    Stream<BigDecimal> stream = Stream.of(BigDecimal.ONE, BigDecimal.ONE, BigDecimal.valueOf(2));
+    Assertions.assertThat(StreamUtils.average(stream, new MathContext(5, RoundingMode.HALF_UP)))
+        .contains(new BigDecimal("1.3333"));
+  }
+
+  @Test
+  void parallelAverageMatchesSequentialAverage() {
+    List<BigDecimal> values = IntStream.range(0, 100_000).mapToObj(i -> BigDecimal.valueOf(i, 2)).toList();
+    Assertions.assertThat(StreamUtils.average(values.parallelStream()))
+        .isEqualTo(StreamUtils.average(values.stream()))
+        .contains(new BigDecimal("500.00"));
+  }
+
+  @MethodSource("averageLongData")
+  @ParameterizedTest
+  void countAverageLong(LongStream stream, OptionalDouble expectedResult) {
+    Assertions.assertThat(StreamUtils.average(stream)).isEqualTo(expectedResult);
+  }
+
+  static Stream<Arguments> averageLongData() {
+    return Stream.of(
+        Arguments.of(null, OptionalDouble.empty()),
+        Arguments.of(LongStream.empty(), OptionalDouble.empty()),
+        Arguments.of(LongStream.of(2, 4), OptionalDouble.of(3)),
+        Arguments.of(LongStream.of(-7, -3), OptionalDouble.of(-5)),
+        Arguments.of(LongStream.of(Long.MAX_VALUE, Long.MAX_VALUE), OptionalDouble.of(Long.MAX_VALUE)),
+        Arguments.of(LongStream.of(Long.MIN_VALUE, Long.MIN_VALUE, Long.MIN_VALUE), OptionalDouble.of(Long.MIN_VALUE)),
+        Arguments.of(LongStream.rangeClosed(1, 1_000_000).parallel(), OptionalDouble.of(500_000.5))
+    );
+  }
+
+  @Test
+  void countAverageDouble() {
+    Assertions.assertThat(StreamUtils.average((DoubleStream) null)).isEmpty();
+    Assertions.assertThat(StreamUtils.average(DoubleStream.of(0.5, 1.5))).hasValue(1.0);
+  }
+
 }